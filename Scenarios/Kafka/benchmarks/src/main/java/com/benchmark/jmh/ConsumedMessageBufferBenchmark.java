@@ -0,0 +1,82 @@
+package com.benchmark.jmh;
+
+import com.benchmark.kafka.dto.ConsumedMessage;
+import com.benchmark.kafka.service.RingBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The store of recently consumed messages behind {@code GET /messages/consumed}.
+ * Three writer threads stand in for the default listener concurrency of 3, and
+ * one thread reads the newest 10 the way the endpoint does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Group)
+public class ConsumedMessageBufferBenchmark {
+
+    @Param({"100", "1000"})
+    private int capacity;
+
+    private RingBuffer<ConsumedMessage> ring;
+    private LegacyMessageQueue<ConsumedMessage> legacy;
+    private ConsumedMessage message;
+
+    @Setup
+    public void setUp() {
+        ring = new RingBuffer<>(capacity);
+        legacy = new LegacyMessageQueue<>(capacity);
+        message = new ConsumedMessage("orders", "order-1", Map.of("orderId", 1), 0, 42L, Instant.now());
+        for (int i = 0; i < capacity; i++) {
+            ring.add(message);
+            legacy.add(message);
+        }
+    }
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(3)
+    public void ringAdd() {
+        ring.add(message);
+    }
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(1)
+    public List<ConsumedMessage> ringLatest() {
+        return ring.latest(10);
+    }
+
+    @Benchmark
+    @Group("legacy")
+    @GroupThreads(3)
+    public void legacyAdd() {
+        legacy.add(message);
+    }
+
+    @Benchmark
+    @Group("legacy")
+    @GroupThreads(1)
+    public List<ConsumedMessage> legacyLatest() {
+        return legacy.latest(10);
+    }
+}
@@ -0,0 +1,34 @@
+package com.benchmark.jmh;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The {@code ConcurrentLinkedQueue} that {@code KafkaConsumerService} used before
+ * the ring buffer, kept as the baseline for {@link ConsumedMessageBufferBenchmark}.
+ * {@code size()} walks the whole queue on every add.
+ */
+public class LegacyMessageQueue<T> {
+
+    private final ConcurrentLinkedQueue<T> messages = new ConcurrentLinkedQueue<>();
+    private final int capacity;
+
+    public LegacyMessageQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void add(T message) {
+        messages.offer(message);
+        while (messages.size() > capacity) {
+            messages.poll();
+        }
+    }
+
+    public List<T> latest(int limit) {
+        List<T> copy = new ArrayList<>(messages);
+        Collections.reverse(copy);
+        return copy.stream().limit(limit).toList();
+    }
+}
@@ -0,0 +1,117 @@
+package com.benchmark.jmh;
+
+import com.benchmark.kafka.serde.LocalSchemaRegistry;
+import com.benchmark.kafka.serde.PayloadDeserializer;
+import com.benchmark.kafka.serde.PayloadSerializer;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Value serialization of one order payload with Spring's JSON serde (type
+ * headers included) and with the schema'd binary codec. The serialize
+ * benchmarks also report the encoded size per message as the secondary results
+ * {@code payloadBytes} and {@code headerBytes}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class PayloadSerdeBenchmark {
+
+    private static final String TOPIC = "orders";
+
+    private PayloadSerializer jsonSerializer;
+    private PayloadSerializer binarySerializer;
+    private PayloadDeserializer deserializer;
+    private Map<String, Object> order;
+    private byte[] jsonBytes;
+    private Header[] jsonHeaders;
+    private byte[] binaryBytes;
+    private int jsonHeaderBytes;
+
+    /**
+     * Encoded size of the last message, reported by JMH next to the timing.
+     * EVENTS counters are printed as is, so these read as bytes per message.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        public long payloadBytes;
+        public long headerBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        LocalSchemaRegistry registry = new LocalSchemaRegistry(Map.of(TOPIC, "orders"));
+        Map<String, Object> config = Map.of("spring.json.trusted.packages", "*");
+        jsonSerializer = new PayloadSerializer(PayloadSerializer.FORMAT_JSON, registry, null);
+        binarySerializer = new PayloadSerializer(PayloadSerializer.FORMAT_BINARY, registry, null);
+        deserializer = new PayloadDeserializer(registry);
+        jsonSerializer.configure(config, false);
+        binarySerializer.configure(config, false);
+        deserializer.configure(config, false);
+
+        order = new LinkedHashMap<>();
+        order.put("orderId", "ORD-000123");
+        order.put("customerId", "CUST-42");
+        order.put("amount", 149.99);
+        order.put("quantity", 3);
+        order.put("currency", "USD");
+        order.put("status", "PENDING");
+        order.put("items", List.of("SKU-1001", "SKU-2002"));
+
+        RecordHeaders headers = new RecordHeaders();
+        jsonBytes = jsonSerializer.serialize(TOPIC, headers, order);
+        jsonHeaders = headers.toArray();
+        binaryBytes = binarySerializer.serialize(TOPIC, new RecordHeaders(), order);
+
+        for (Header header : jsonHeaders) {
+            jsonHeaderBytes += header.key().length() + header.value().length;
+        }
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize(EncodedSize size) {
+        byte[] bytes = jsonSerializer.serialize(TOPIC, new RecordHeaders(), order);
+        size.payloadBytes = bytes.length;
+        size.headerBytes = jsonHeaderBytes;
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] binarySerialize(EncodedSize size) {
+        byte[] bytes = binarySerializer.serialize(TOPIC, new RecordHeaders(), order);
+        size.payloadBytes = bytes.length;
+        size.headerBytes = 0;
+        return bytes;
+    }
+
+    // The JSON deserializer consumes its type headers, so each call gets a fresh copy
+    @Benchmark
+    public Object jsonDeserialize() {
+        return deserializer.deserialize(TOPIC, new RecordHeaders(jsonHeaders), jsonBytes);
+    }
+
+    @Benchmark
+    public Object binaryDeserialize() {
+        return deserializer.deserialize(TOPIC, new RecordHeaders(), binaryBytes);
+    }
+}
@@ -0,0 +1,55 @@
+package com.benchmark.kafka.config;
+
+import com.benchmark.kafka.serde.LocalSchemaRegistry;
+import com.benchmark.kafka.serde.PayloadDeserializer;
+import com.benchmark.kafka.serde.PayloadSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaConsumerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+
+import java.util.Map;
+
+/**
+ * Plugs {@link PayloadSerializer} and {@link PayloadDeserializer} into the
+ * factories Spring Boot builds from {@code spring.kafka.*}, replacing the
+ * configured value (de)serializer classes while keeping their settings
+ * ({@code spring.json.*}) for the JSON side.
+ */
+@Configuration
+public class KafkaSerdeConfig {
+
+    @Bean
+    public LocalSchemaRegistry localSchemaRegistry(@Value("${kafka.topics.orders:orders}") String ordersTopic,
+                                                   @Value("${kafka.topics.events:events}") String eventsTopic) {
+        return new LocalSchemaRegistry(Map.of(ordersTopic, "orders", eventsTopic, "events"));
+    }
+
+    @Bean
+    public PayloadSerializer payloadSerializer(@Value("${kafka.serde.format:json}") String format,
+                                               LocalSchemaRegistry registry,
+                                               MeterRegistry meterRegistry) {
+        return new PayloadSerializer(format, registry, meterRegistry);
+    }
+
+    @Bean
+    public PayloadDeserializer payloadDeserializer(LocalSchemaRegistry registry) {
+        return new PayloadDeserializer(registry);
+    }
+
+    @Bean
+    @SuppressWarnings("unchecked")
+    public DefaultKafkaProducerFactoryCustomizer payloadSerializerCustomizer(PayloadSerializer serializer) {
+        return factory -> ((DefaultKafkaProducerFactory<Object, Object>) factory).setValueSerializer(serializer);
+    }
+
+    @Bean
+    @SuppressWarnings("unchecked")
+    public DefaultKafkaConsumerFactoryCustomizer payloadDeserializerCustomizer(PayloadDeserializer deserializer) {
+        return factory -> ((DefaultKafkaConsumerFactory<Object, Object>) factory).setValueDeserializer(deserializer);
+    }
+}
@@ -0,0 +1,41 @@
+package com.benchmark.kafka.controller;
+
+import com.benchmark.kafka.dto.ProducerBenchmarkResult;
+import com.benchmark.kafka.service.ProducerBenchmarkService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/benchmark")
+public class BenchmarkController {
+
+    private final ProducerBenchmarkService producerBenchmarkService;
+
+    public BenchmarkController(ProducerBenchmarkService producerBenchmarkService) {
+        this.producerBenchmarkService = producerBenchmarkService;
+    }
+
+    /**
+     * Runs a producer benchmark and answers when it is finished, so the request
+     * takes {@code durationSeconds} plus the time to drain the producer. 409 while
+     * another run is in progress.
+     */
+    @PostMapping("/producer")
+    public ResponseEntity<ProducerBenchmarkResult> runProducerBenchmark(
+            @RequestParam(defaultValue = "10") int durationSeconds,
+            @RequestParam(defaultValue = "512") int payloadBytes,
+            @RequestParam(required = false) String topic,
+            @RequestParam(required = false) String profile) {
+        ProducerBenchmarkResult result;
+        try {
+            result = producerBenchmarkService.run(topic, profile, durationSeconds, payloadBytes);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(result);
+    }
+}
@@ -1,15 +1,23 @@
 package com.benchmark.kafka.controller;
 
+import com.benchmark.kafka.dto.BatchSendResponse;
 import com.benchmark.kafka.dto.ConsumedMessage;
 import com.benchmark.kafka.dto.MessageRequest;
 import com.benchmark.kafka.dto.MessageResponse;
 import com.benchmark.kafka.service.KafkaConsumerService;
 import com.benchmark.kafka.service.KafkaProducerService;
+import com.benchmark.kafka.service.KafkaProducerService.AckPolicy;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -19,11 +27,14 @@ public class MessageController {
 
     private final KafkaProducerService producerService;
     private final KafkaConsumerService consumerService;
+    private final ObjectReader messageReader;
 
     public MessageController(KafkaProducerService producerService, 
-                            KafkaConsumerService consumerService) {
+                            KafkaConsumerService consumerService,
+                            ObjectMapper objectMapper) {
         this.producerService = producerService;
         this.consumerService = consumerService;
+        this.messageReader = objectMapper.readerFor(MessageRequest.class);
     }
 
     @PostMapping
@@ -46,6 +57,32 @@ public class MessageController {
                 .body(response));
     }
 
+    /**
+     * Bulk produce. The body is a JSON array of messages or NDJSON (one message
+     * per line). Either way it is read as a stream, and each message is sent as
+     * soon as it is parsed. {@code ack} is {@code all} (201 with per-partition
+     * results), {@code none} or {@code async} (202 without waiting for the broker).
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public CompletableFuture<ResponseEntity<BatchSendResponse>> sendBatch(
+            @RequestParam(defaultValue = "all") String ack,
+            InputStream body) throws IOException {
+        AckPolicy ackPolicy;
+        try {
+            ackPolicy = AckPolicy.parse(ack);
+        } catch (IllegalArgumentException ex) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        // A root-level array is unwrapped, otherwise values are read one after another
+        try (MappingIterator<MessageRequest> requests = messageReader.readValues(body)) {
+            return producerService.sendBatch(requests, ackPolicy)
+                .thenApply(response -> ResponseEntity
+                    .status(!response.isInputComplete() ? HttpStatus.BAD_REQUEST
+                        : ackPolicy == AckPolicy.ALL ? HttpStatus.CREATED : HttpStatus.ACCEPTED)
+                    .body(response));
+        }
+    }
+
     @GetMapping("/consumed")
     public ResponseEntity<List<ConsumedMessage>> getConsumedMessages(
             @RequestParam(defaultValue = "10") int limit) {
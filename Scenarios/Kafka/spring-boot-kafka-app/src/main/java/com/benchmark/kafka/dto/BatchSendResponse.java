@@ -0,0 +1,121 @@
+package com.benchmark.kafka.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of {@code POST /messages/batch}. {@code acked}, {@code failed} and
+ * {@code partitions} are only filled in for the {@code all} ack policy. The other
+ * policies return before the broker answers.
+ */
+public class BatchSendResponse {
+
+    private String batchId;
+    private String ackPolicy;
+    private boolean inputComplete;
+    private int accepted;
+    private int rejected;
+    private Integer acked;
+    private Integer failed;
+    private long durationMs;
+    private List<PartitionSendResult> partitions;
+    private List<String> errors;
+
+    public BatchSendResponse() {
+    }
+
+    public BatchSendResponse(String batchId, String ackPolicy, boolean inputComplete, int accepted, int rejected,
+                             Integer acked, Integer failed, long durationMs,
+                             List<PartitionSendResult> partitions, List<String> errors) {
+        this.batchId = batchId;
+        this.ackPolicy = ackPolicy;
+        this.inputComplete = inputComplete;
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.acked = acked;
+        this.failed = failed;
+        this.durationMs = durationMs;
+        this.partitions = partitions;
+        this.errors = errors;
+    }
+
+    // Getters and Setters
+    public String getBatchId() {
+        return batchId;
+    }
+
+    public void setBatchId(String batchId) {
+        this.batchId = batchId;
+    }
+
+    public String getAckPolicy() {
+        return ackPolicy;
+    }
+
+    public void setAckPolicy(String ackPolicy) {
+        this.ackPolicy = ackPolicy;
+    }
+
+    public boolean isInputComplete() {
+        return inputComplete;
+    }
+
+    public void setInputComplete(boolean inputComplete) {
+        this.inputComplete = inputComplete;
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public Integer getAcked() {
+        return acked;
+    }
+
+    public void setAcked(Integer acked) {
+        this.acked = acked;
+    }
+
+    public Integer getFailed() {
+        return failed;
+    }
+
+    public void setFailed(Integer failed) {
+        this.failed = failed;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public List<PartitionSendResult> getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(List<PartitionSendResult> partitions) {
+        this.partitions = partitions;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
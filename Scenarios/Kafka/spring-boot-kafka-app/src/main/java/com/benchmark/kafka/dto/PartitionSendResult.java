@@ -0,0 +1,65 @@
+package com.benchmark.kafka.dto;
+
+/**
+ * Acknowledged messages of one batch that landed on one topic partition.
+ */
+public class PartitionSendResult {
+
+    private String topic;
+    private Integer partition;
+    private Long count;
+    private Long firstOffset;
+    private Long lastOffset;
+
+    public PartitionSendResult() {
+    }
+
+    public PartitionSendResult(String topic, Integer partition, Long count, Long firstOffset, Long lastOffset) {
+        this.topic = topic;
+        this.partition = partition;
+        this.count = count;
+        this.firstOffset = firstOffset;
+        this.lastOffset = lastOffset;
+    }
+
+    // Getters and Setters
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public Integer getPartition() {
+        return partition;
+    }
+
+    public void setPartition(Integer partition) {
+        this.partition = partition;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public Long getFirstOffset() {
+        return firstOffset;
+    }
+
+    public void setFirstOffset(Long firstOffset) {
+        this.firstOffset = firstOffset;
+    }
+
+    public Long getLastOffset() {
+        return lastOffset;
+    }
+
+    public void setLastOffset(Long lastOffset) {
+        this.lastOffset = lastOffset;
+    }
+}
@@ -0,0 +1,140 @@
+package com.benchmark.kafka.dto;
+
+import java.util.Map;
+
+/**
+ * Outcome of one {@code POST /benchmark/producer} run.
+ */
+public class ProducerBenchmarkResult {
+
+    private String profile;
+    private String topic;
+    private Map<String, Object> settings;
+    private long durationMs;
+    private long records;
+    private long failed;
+    private double recordsPerSecond;
+    private double megabytesPerSecond;
+    private double avgRecordBytes;
+    private Double batchFillRatio;
+    private Map<String, Double> latencyMs;
+    private Map<String, Double> producerMetrics;
+
+    public ProducerBenchmarkResult() {
+    }
+
+    public ProducerBenchmarkResult(String profile, String topic, Map<String, Object> settings, long durationMs,
+                                   long records, long failed, double recordsPerSecond, double megabytesPerSecond,
+                                   double avgRecordBytes, Double batchFillRatio, Map<String, Double> latencyMs,
+                                   Map<String, Double> producerMetrics) {
+        this.profile = profile;
+        this.topic = topic;
+        this.settings = settings;
+        this.durationMs = durationMs;
+        this.records = records;
+        this.failed = failed;
+        this.recordsPerSecond = recordsPerSecond;
+        this.megabytesPerSecond = megabytesPerSecond;
+        this.avgRecordBytes = avgRecordBytes;
+        this.batchFillRatio = batchFillRatio;
+        this.latencyMs = latencyMs;
+        this.producerMetrics = producerMetrics;
+    }
+
+    // Getters and Setters
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public Map<String, Object> getSettings() {
+        return settings;
+    }
+
+    public void setSettings(Map<String, Object> settings) {
+        this.settings = settings;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public void setRecords(long records) {
+        this.records = records;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public double getRecordsPerSecond() {
+        return recordsPerSecond;
+    }
+
+    public void setRecordsPerSecond(double recordsPerSecond) {
+        this.recordsPerSecond = recordsPerSecond;
+    }
+
+    public double getMegabytesPerSecond() {
+        return megabytesPerSecond;
+    }
+
+    public void setMegabytesPerSecond(double megabytesPerSecond) {
+        this.megabytesPerSecond = megabytesPerSecond;
+    }
+
+    public double getAvgRecordBytes() {
+        return avgRecordBytes;
+    }
+
+    public void setAvgRecordBytes(double avgRecordBytes) {
+        this.avgRecordBytes = avgRecordBytes;
+    }
+
+    public Double getBatchFillRatio() {
+        return batchFillRatio;
+    }
+
+    public void setBatchFillRatio(Double batchFillRatio) {
+        this.batchFillRatio = batchFillRatio;
+    }
+
+    public Map<String, Double> getLatencyMs() {
+        return latencyMs;
+    }
+
+    public void setLatencyMs(Map<String, Double> latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public Map<String, Double> getProducerMetrics() {
+        return producerMetrics;
+    }
+
+    public void setProducerMetrics(Map<String, Double> producerMetrics) {
+        this.producerMetrics = producerMetrics;
+    }
+}
@@ -0,0 +1,330 @@
+package com.benchmark.kafka.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact schema'd encoding for object payloads, laid out like the Confluent
+ * wire format so the bytes are easy to recognise:
+ * <pre>
+ *   magic (0x00) | schema id (int32, big-endian) | presence bitmap | values
+ * </pre>
+ * Values are written in schema order without names: longs as zig-zag varints,
+ * doubles as 8 bytes, booleans as one byte, strings as a varint length plus
+ * UTF-8, lists and maps as a varint count followed by their strings. Absent and
+ * null fields cost one bit. Values are never coerced: one that does not have
+ * the field's exact type is a mismatch, so the payload goes out as JSON and
+ * decodes unchanged.
+ *
+ * <p>A JSON document never starts with a 0x00 byte, so {@link #isBinary} tells the
+ * two formats apart without a header. Stateless and thread-safe.
+ */
+public class BinaryPayloadCodec {
+
+    static final byte MAGIC = 0x00;
+    private static final int HEADER_BYTES = 5;
+
+    private final LocalSchemaRegistry registry;
+
+    public BinaryPayloadCodec(LocalSchemaRegistry registry) {
+        this.registry = registry;
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data.length >= HEADER_BYTES && data[0] == MAGIC;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the payload has a field the schema does
+     *                                  not declare, or a value of the wrong type
+     */
+    public byte[] encode(PayloadSchema schema, Map<?, ?> payload) {
+        List<PayloadSchema.Field> fields = schema.fields();
+        Object[] values = new Object[fields.size()];
+        for (Map.Entry<?, ?> entry : payload.entrySet()) {
+            int position = schema.positionOf(String.valueOf(entry.getKey()));
+            if (position < 0) {
+                throw new IllegalArgumentException("Field '" + entry.getKey() + "' is not in schema "
+                        + schema.subject() + " (id " + schema.id() + ")");
+            }
+            values[position] = entry.getValue();
+        }
+
+        Output out = new Output(64);
+        out.writeByte(MAGIC);
+        out.writeInt(schema.id());
+        int bitmapAt = out.reserve((fields.size() + 7) / 8);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                out.buffer[bitmapAt + i / 8] |= (byte) (1 << (i % 8));
+                writeValue(out, fields.get(i), values[i]);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public Map<String, Object> decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new SerializationException("Not a binary payload");
+        }
+        Input in = new Input(data);
+        in.position = 1;
+        int id = in.readInt();
+        PayloadSchema schema = registry.byId(id);
+        if (schema == null) {
+            throw new SerializationException("Unknown payload schema id " + id);
+        }
+        List<PayloadSchema.Field> fields = schema.fields();
+        int bitmapAt = in.position;
+        in.position += (fields.size() + 7) / 8;
+        Map<String, Object> payload = new LinkedHashMap<>(Math.max(4, fields.size() * 2));
+        try {
+            for (int i = 0; i < fields.size(); i++) {
+                if ((data[bitmapAt + i / 8] & (1 << (i % 8))) != 0) {
+                    PayloadSchema.Field field = fields.get(i);
+                    payload.put(field.name(), readValue(in, field.type()));
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            throw new SerializationException("Truncated payload for schema id " + id, ex);
+        }
+        return payload;
+    }
+
+    private static void writeValue(Output out, PayloadSchema.Field field, Object value) {
+        switch (field.type()) {
+            case STRING -> out.writeString(scalar(field, value));
+            case LONG -> out.writeVarLong(toLong(field, value));
+            case DOUBLE -> out.writeDouble(toDouble(field, value));
+            case BOOLEAN -> out.writeByte(toBoolean(field, value) ? (byte) 1 : (byte) 0);
+            case STRING_LIST -> {
+                if (!(value instanceof List<?> list)) {
+                    throw mismatch(field, value);
+                }
+                out.writeVarLong(list.size());
+                for (Object item : list) {
+                    out.writeString(scalar(field, item));
+                }
+            }
+            case STRING_MAP -> {
+                if (!(value instanceof Map<?, ?> map)) {
+                    throw mismatch(field, value);
+                }
+                out.writeVarLong(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    out.writeString(scalar(field, entry.getKey()));
+                    out.writeString(scalar(field, entry.getValue()));
+                }
+            }
+        }
+    }
+
+    private static Object readValue(Input in, PayloadSchema.Type type) {
+        return switch (type) {
+            case STRING -> in.readString();
+            case LONG -> in.readVarLong();
+            case DOUBLE -> in.readDouble();
+            case BOOLEAN -> in.readByte() != 0;
+            case STRING_LIST -> {
+                // Every string takes at least its one-byte length
+                int size = in.readCount(1);
+                List<String> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(in.readString());
+                }
+                yield list;
+            }
+            case STRING_MAP -> {
+                int size = in.readCount(2);
+                Map<String, String> map = new LinkedHashMap<>(Math.max(4, size * 2));
+                for (int i = 0; i < size; i++) {
+                    map.put(in.readString(), in.readString());
+                }
+                yield map;
+            }
+        };
+    }
+
+    // No coercion: 123 in a string field would decode as "123", so it goes to JSON instead
+    private static String scalar(PayloadSchema.Field field, Object value) {
+        if (value instanceof CharSequence) {
+            return value.toString();
+        }
+        throw mismatch(field, value);
+    }
+
+    private static long toLong(PayloadSchema.Field field, Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof BigInteger big && big.bitLength() < 64) {
+            return big.longValue();
+        }
+        if (value instanceof BigDecimal decimal) {
+            try {
+                return decimal.longValueExact();
+            } catch (ArithmeticException ex) {
+                throw mismatch(field, value);
+            }
+        }
+        throw mismatch(field, value);
+    }
+
+    // Only binary floating point: a BigDecimal would lose digits, an integer would decode as a double
+    private static double toDouble(PayloadSchema.Field field, Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            return ((Number) value).doubleValue();
+        }
+        throw mismatch(field, value);
+    }
+
+    private static boolean toBoolean(PayloadSchema.Field field, Object value) {
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        throw mismatch(field, value);
+    }
+
+    private static IllegalArgumentException mismatch(PayloadSchema.Field field, Object value) {
+        return new IllegalArgumentException("Field '" + field.name() + "' expects " + field.type()
+                + " but got " + (value == null ? "null" : value.getClass().getSimpleName()));
+    }
+
+    private static final class Output {
+
+        private byte[] buffer;
+        private int size;
+
+        Output(int initialCapacity) {
+            buffer = new byte[initialCapacity];
+        }
+
+        int reserve(int bytes) {
+            ensure(bytes);
+            int at = size;
+            size += bytes;
+            return at;
+        }
+
+        void writeByte(byte value) {
+            ensure(1);
+            buffer[size++] = value;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            buffer[size++] = (byte) (value >>> 24);
+            buffer[size++] = (byte) (value >>> 16);
+            buffer[size++] = (byte) (value >>> 8);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            long zigZag = (value << 1) ^ (value >> 63);
+            ensure(10);
+            while ((zigZag & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((zigZag & 0x7F) | 0x80);
+                zigZag >>>= 7;
+            }
+            buffer[size++] = (byte) zigZag;
+        }
+
+        void writeDouble(double value) {
+            long bits = Double.doubleToLongBits(value);
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (bits >>> shift);
+            }
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void ensure(int bytes) {
+            if (size + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] data;
+        private int position;
+
+        Input(byte[] data) {
+            this.data = data;
+        }
+
+        byte readByte() {
+            return data[position++];
+        }
+
+        int readInt() {
+            return (data[position++] & 0xFF) << 24 | (data[position++] & 0xFF) << 16
+                    | (data[position++] & 0xFF) << 8 | (data[position++] & 0xFF);
+        }
+
+        long readVarLong() {
+            long zigZag = 0;
+            int shift = 0;
+            byte current;
+            do {
+                if (shift > 63) {
+                    throw new SerializationException("Malformed varint");
+                }
+                current = data[position++];
+                zigZag |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return (zigZag >>> 1) ^ -(zigZag & 1);
+        }
+
+        double readDouble() {
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | (data[position++] & 0xFF);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        /**
+         * Reads an element count and checks it against the bytes left, so a corrupt
+         * count fails fast instead of sizing a collection from it.
+         */
+        int readCount(int minBytesPerElement) {
+            long count = readVarLong();
+            if (count < 0 || count > (long) (data.length - position) / minBytesPerElement) {
+                throw new SerializationException("Malformed element count " + count);
+            }
+            return (int) count;
+        }
+
+        String readString() {
+            long length = readVarLong();
+            if (length < 0 || length > data.length - position) {
+                throw new SerializationException("Malformed string length " + length);
+            }
+            String value = new String(data, position, (int) length, StandardCharsets.UTF_8);
+            position += (int) length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.benchmark.kafka.serde;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process stand-in for a schema registry. Schemas are read from
+ * {@code classpath*:schemas/*.json} at startup, so every producer and consumer
+ * built from the same jar resolves the same ids without a registry service.
+ * Topics are bound to a schema subject by name.
+ */
+public class LocalSchemaRegistry {
+
+    public static final String SCHEMA_LOCATION = "classpath*:schemas/*.json";
+
+    private final Map<Integer, PayloadSchema> byId = new HashMap<>();
+    private final Map<String, PayloadSchema> bySubject = new HashMap<>();
+    private final Map<String, PayloadSchema> byTopic = new HashMap<>();
+
+    public LocalSchemaRegistry(Map<String, String> topicSubjects) {
+        this(loadSchemas(), topicSubjects);
+    }
+
+    public LocalSchemaRegistry(Collection<PayloadSchema> schemas, Map<String, String> topicSubjects) {
+        for (PayloadSchema schema : schemas) {
+            PayloadSchema previous = byId.putIfAbsent(schema.id(), schema);
+            if (previous != null) {
+                throw new IllegalStateException("Schema id " + schema.id() + " is used by both "
+                        + previous.subject() + " and " + schema.subject());
+            }
+            // Highest id wins, so adding a version never changes what older messages decode with
+            bySubject.merge(schema.subject(), schema, (a, b) -> a.id() > b.id() ? a : b);
+        }
+        topicSubjects.forEach((topic, subject) -> {
+            PayloadSchema schema = bySubject.get(subject);
+            if (schema == null) {
+                throw new IllegalStateException("No schema registered for subject '" + subject + "' (topic " + topic + ")");
+            }
+            byTopic.put(topic, schema);
+        });
+    }
+
+    /**
+     * The schema new messages on {@code topic} are written with, or null if the
+     * topic has none.
+     */
+    public PayloadSchema forTopic(String topic) {
+        return byTopic.get(topic);
+    }
+
+    public PayloadSchema byId(int id) {
+        return byId.get(id);
+    }
+
+    private static List<PayloadSchema> loadSchemas() {
+        ObjectMapper mapper = new ObjectMapper();
+        List<PayloadSchema> schemas = new ArrayList<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(SCHEMA_LOCATION)) {
+                try (InputStream in = resource.getInputStream()) {
+                    schemas.add(parse(mapper.readTree(in), resource.getFilename()));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not load payload schemas from " + SCHEMA_LOCATION, ex);
+        }
+        return schemas;
+    }
+
+    private static PayloadSchema parse(JsonNode node, String source) {
+        if (!node.hasNonNull("subject") || !node.hasNonNull("id") || !node.path("fields").isArray()) {
+            throw new IllegalStateException("Schema " + source + " needs subject, id and fields");
+        }
+        List<PayloadSchema.Field> fields = new ArrayList<>();
+        for (JsonNode field : node.get("fields")) {
+            fields.add(new PayloadSchema.Field(field.get("name").asText(),
+                    PayloadSchema.Type.fromName(field.get("type").asText())));
+        }
+        return new PayloadSchema(node.get("subject").asText(), node.get("id").asInt(), fields);
+    }
+}
@@ -0,0 +1,48 @@
+package com.benchmark.kafka.serde;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+/**
+ * Value deserializer that reads both formats {@link PayloadSerializer} can
+ * write. It picks the format from the first byte, so consumers need no setting
+ * and topics can carry a mix while producers switch format.
+ */
+public class PayloadDeserializer implements Deserializer<Object> {
+
+    private final JsonDeserializer<Object> json = new JsonDeserializer<>();
+    private final BinaryPayloadCodec codec;
+
+    public PayloadDeserializer(LocalSchemaRegistry registry) {
+        this.codec = new BinaryPayloadCodec(registry);
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (BinaryPayloadCodec.isBinary(data)) {
+            return codec.decode(data);
+        }
+        return headers == null ? json.deserialize(topic, data) : json.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+}
@@ -0,0 +1,62 @@
+package com.benchmark.kafka.serde;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One registered payload schema: an ordered list of typed, optional fields.
+ * The binary format writes values in this order without field names, so a
+ * schema must never change once messages have been written with its id;
+ * register a new id instead.
+ */
+public final class PayloadSchema {
+
+    public enum Type {
+        STRING, LONG, DOUBLE, BOOLEAN, STRING_LIST, STRING_MAP;
+
+        static Type fromName(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    public record Field(String name, Type type) {
+    }
+
+    private final String subject;
+    private final int id;
+    private final List<Field> fields;
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    public PayloadSchema(String subject, int id, List<Field> fields) {
+        this.subject = subject;
+        this.id = id;
+        this.fields = List.copyOf(fields);
+        for (int i = 0; i < this.fields.size(); i++) {
+            if (positions.put(this.fields.get(i).name(), i) != null) {
+                throw new IllegalArgumentException("Duplicate field '" + this.fields.get(i).name() + "' in schema " + subject);
+            }
+        }
+    }
+
+    public String subject() {
+        return subject;
+    }
+
+    public int id() {
+        return id;
+    }
+
+    public List<Field> fields() {
+        return fields;
+    }
+
+    /**
+     * Position of the field, or -1 if the schema has no such field.
+     */
+    int positionOf(String name) {
+        Integer position = positions.get(name);
+        return position == null ? -1 : position;
+    }
+}
@@ -0,0 +1,119 @@
+package com.benchmark.kafka.serde;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Value serializer for {@code kafka.serde.format}. In {@code json} mode it is
+ * Spring's {@link JsonSerializer}. In {@code binary} mode, object payloads for a
+ * topic with a registered schema go through {@link BinaryPayloadCodec}. Anything
+ * else falls back to JSON and is counted in {@code kafka.serde.fallback}: topics
+ * without a schema, payloads that are not objects, and fields outside the schema.
+ * {@link PayloadDeserializer} reads both formats, so fallbacks stay consumable.
+ */
+public class PayloadSerializer implements Serializer<Object> {
+
+    public static final String FORMAT_JSON = "json";
+    public static final String FORMAT_BINARY = "binary";
+
+    private static final Logger logger = LoggerFactory.getLogger(PayloadSerializer.class);
+    private static final long ERROR_LOG_THROTTLE_MS = 60_000L;
+
+    private final JsonSerializer<Object> json = new JsonSerializer<>();
+    private final LocalSchemaRegistry registry;
+    private final BinaryPayloadCodec codec;
+    private final boolean binary;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, DistributionSummary> sizes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> fallbacks = new ConcurrentHashMap<>();
+    private final AtomicLong lastErrorLogMs = new AtomicLong(0L);
+
+    public PayloadSerializer(String format, LocalSchemaRegistry registry, MeterRegistry meterRegistry) {
+        if (!FORMAT_JSON.equals(format) && !FORMAT_BINARY.equals(format)) {
+            throw new IllegalArgumentException("kafka.serde.format must be json or binary, was " + format);
+        }
+        this.binary = FORMAT_BINARY.equals(format);
+        this.registry = registry;
+        this.codec = new BinaryPayloadCodec(registry);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        byte[] bytes = binary ? encodeBinary(topic, data) : null;
+        String format = bytes != null ? FORMAT_BINARY : FORMAT_JSON;
+        if (bytes == null) {
+            bytes = headers == null ? json.serialize(topic, data) : json.serialize(topic, headers, data);
+        }
+        if (meterRegistry != null) {
+            sizes.computeIfAbsent(topic + '|' + format, key -> DistributionSummary.builder("kafka.serde.payload.size")
+                    .description("Serialized message value size")
+                    .baseUnit("bytes")
+                    .tag("topic", topic)
+                    .tag("format", format)
+                    .register(meterRegistry)).record(bytes.length);
+        }
+        return bytes;
+    }
+
+    private byte[] encodeBinary(String topic, Object data) {
+        PayloadSchema schema = registry.forTopic(topic);
+        if (schema == null) {
+            fallback(topic, "no schema is bound to the topic");
+            return null;
+        }
+        if (!(data instanceof Map<?, ?> payload)) {
+            fallback(topic, "payload is a " + data.getClass().getSimpleName() + ", not an object");
+            return null;
+        }
+        try {
+            return codec.encode(schema, payload);
+        } catch (IllegalArgumentException ex) {
+            fallback(topic, ex.getMessage());
+            return null;
+        }
+    }
+
+    private void fallback(String topic, String reason) {
+        if (meterRegistry != null) {
+            fallbacks.computeIfAbsent(topic, key -> Counter.builder("kafka.serde.fallback")
+                    .description("Messages written as JSON although kafka.serde.format is binary")
+                    .tag("topic", topic)
+                    .register(meterRegistry)).increment();
+        }
+        long now = System.currentTimeMillis();
+        long last = lastErrorLogMs.get();
+        if (now - last >= ERROR_LOG_THROTTLE_MS && lastErrorLogMs.compareAndSet(last, now)) {
+            logger.warn("Writing JSON instead of binary to topic {}: {}", topic, reason);
+        }
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+}
@@ -1,41 +1,172 @@
 package com.benchmark.kafka.service;
 
 import com.benchmark.kafka.dto.ConsumedMessage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Consumes the orders and events topics in one of two modes, chosen with
+ * {@code kafka.consumer.mode}:
+ * <ul>
+ *   <li>{@code record} (default): one listener call and one INFO line per record.</li>
+ *   <li>{@code batch}: one listener call per poll (up to {@code max-poll-records}),
+ *       processed in a single pass with one DEBUG line, and exported as
+ *       {@code kafka.consumer.batch.size}, {@code kafka.consumer.batch.processing}
+ *       and {@code kafka.consumer.lag}.</li>
+ * </ul>
+ * Both listener sets are registered in the same consumer group; only the ones for
+ * the configured mode start. They can be switched at runtime through the
+ * {@code KafkaListenerEndpointRegistry} by the ids below.
+ *
+ * <p>The newest {@code kafka.consumer.stored-messages} records are kept in a
+ * {@link RingBuffer} for {@code GET /messages/consumed}.
+ */
 @Service
 public class KafkaConsumerService {
 
+    public static final String ORDERS_RECORD_LISTENER = "orders-record";
+    public static final String EVENTS_RECORD_LISTENER = "events-record";
+    public static final String ORDERS_BATCH_LISTENER = "orders-batch";
+    public static final String EVENTS_BATCH_LISTENER = "events-batch";
+
     private static final Logger logger = LoggerFactory.getLogger(KafkaConsumerService.class);
-    private static final int MAX_STORED_MESSAGES = 100;
-    
-    private final ConcurrentLinkedQueue<ConsumedMessage> consumedMessages = new ConcurrentLinkedQueue<>();
 
-    @KafkaListener(topics = "${kafka.topics.orders:orders}", groupId = "${spring.kafka.consumer.group-id}")
+    private final RingBuffer<ConsumedMessage> consumedMessages;
+    private final AtomicLong consumedCount = new AtomicLong();
+    private final ConcurrentMap<String, AtomicLong> consumedByTopic = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<TopicPartition, AtomicLong> partitionLag = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, BatchMeters> batchMeters = new ConcurrentHashMap<>();
+
+    public KafkaConsumerService(MeterRegistry meterRegistry,
+                                @Value("${kafka.consumer.stored-messages:100}") int storedMessages) {
+        this.meterRegistry = meterRegistry;
+        this.consumedMessages = new RingBuffer<>(storedMessages);
+    }
+
+    @KafkaListener(id = ORDERS_RECORD_LISTENER, topics = "${kafka.topics.orders:orders}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            autoStartup = "#{'${kafka.consumer.mode:record}' == 'record'}")
     public void consumeOrders(ConsumerRecord<String, Object> record) {
         processMessage(record);
     }
 
-    @KafkaListener(topics = "${kafka.topics.events:events}", groupId = "${spring.kafka.consumer.group-id}")
+    @KafkaListener(id = EVENTS_RECORD_LISTENER, topics = "${kafka.topics.events:events}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            autoStartup = "#{'${kafka.consumer.mode:record}' == 'record'}")
     public void consumeEvents(ConsumerRecord<String, Object> record) {
         processMessage(record);
     }
 
+    @KafkaListener(id = ORDERS_BATCH_LISTENER, topics = "${kafka.topics.orders:orders}",
+            groupId = "${spring.kafka.consumer.group-id}", batch = "true",
+            autoStartup = "#{'${kafka.consumer.mode:record}' == 'batch'}")
+    public void consumeOrdersBatch(List<ConsumerRecord<String, Object>> records, Consumer<?, ?> consumer) {
+        processBatch(records, consumer);
+    }
+
+    @KafkaListener(id = EVENTS_BATCH_LISTENER, topics = "${kafka.topics.events:events}",
+            groupId = "${spring.kafka.consumer.group-id}", batch = "true",
+            autoStartup = "#{'${kafka.consumer.mode:record}' == 'batch'}")
+    public void consumeEventsBatch(List<ConsumerRecord<String, Object>> records, Consumer<?, ?> consumer) {
+        processBatch(records, consumer);
+    }
+
     private void processMessage(ConsumerRecord<String, Object> record) {
         logger.info("Consumed message from topic: {}, partition: {}, offset: {}, key: {}", 
             record.topic(), record.partition(), record.offset(), record.key());
         
-        ConsumedMessage message = new ConsumedMessage(
+        consumedMessages.add(toMessage(record));
+        consumedCount.incrementAndGet();
+        topicCount(record.topic()).incrementAndGet();
+    }
+
+    private void processBatch(List<ConsumerRecord<String, Object>> records, Consumer<?, ?> consumer) {
+        if (records.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        String topic = records.get(0).topic();
+
+        // Only the newest entries would survive in the buffer, so skip building the rest
+        for (int i = Math.max(0, records.size() - consumedMessages.capacity()); i < records.size(); i++) {
+            consumedMessages.add(toMessage(records.get(i)));
+        }
+        consumedCount.addAndGet(records.size());
+        topicCount(topic).addAndGet(records.size());
+
+        recordLag(consumer);
+        BatchMeters meters = batchMeters.computeIfAbsent(topic, this::registerBatchMeters);
+        meters.size().record(records.size());
+        meters.processing().record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        if (logger.isDebugEnabled()) {
+            ConsumerRecord<String, Object> last = records.get(records.size() - 1);
+            logger.debug("Consumed batch of {} from topic: {}, last partition: {}, offset: {}",
+                records.size(), topic, last.partition(), last.offset());
+        }
+    }
+
+    /**
+     * Records the lag the consumer already knows from its last fetch, for every
+     * partition it is assigned. {@code currentLag} is a local lookup, not a broker
+     * round trip.
+     */
+    private void recordLag(Consumer<?, ?> consumer) {
+        for (TopicPartition partition : consumer.assignment()) {
+            OptionalLong lag = consumer.currentLag(partition);
+            if (lag.isPresent()) {
+                partitionLag.computeIfAbsent(partition, this::registerLagGauge).set(lag.getAsLong());
+            }
+        }
+    }
+
+    private AtomicLong registerLagGauge(TopicPartition partition) {
+        AtomicLong lag = new AtomicLong();
+        Gauge.builder("kafka.consumer.lag", lag, AtomicLong::get)
+                .description("Records between the consumer position and the end of the partition, as of the last batch")
+                .tag("topic", partition.topic())
+                .tag("partition", String.valueOf(partition.partition()))
+                .register(meterRegistry);
+        return lag;
+    }
+
+    private BatchMeters registerBatchMeters(String topic) {
+        return new BatchMeters(
+                DistributionSummary.builder("kafka.consumer.batch.size")
+                        .description("Records per batch listener call")
+                        .tag("topic", topic)
+                        .register(meterRegistry),
+                Timer.builder("kafka.consumer.batch.processing")
+                        .description("Time to process one batch of records")
+                        .tag("topic", topic)
+                        .register(meterRegistry));
+    }
+
+    private AtomicLong topicCount(String topic) {
+        return consumedByTopic.computeIfAbsent(topic, key -> new AtomicLong());
+    }
+
+    private static ConsumedMessage toMessage(ConsumerRecord<String, Object> record) {
+        return new ConsumedMessage(
             record.topic(),
             record.key(),
             record.value(),
@@ -43,26 +174,36 @@ public class KafkaConsumerService {
             record.offset(),
             Instant.ofEpochMilli(record.timestamp())
         );
-        
-        // Store message with size limit
-        consumedMessages.offer(message);
-        while (consumedMessages.size() > MAX_STORED_MESSAGES) {
-            consumedMessages.poll();
-        }
+    }
+
+    /**
+     * Total records processed since startup, in either mode.
+     */
+    public long getConsumedCount() {
+        return consumedCount.get();
+    }
+
+    /**
+     * Records processed from {@code topic} since startup, in either mode.
+     */
+    public long getConsumedCount(String topic) {
+        AtomicLong count = consumedByTopic.get(topic);
+        return count != null ? count.get() : 0L;
     }
 
     public List<ConsumedMessage> getConsumedMessages() {
-        return new ArrayList<>(consumedMessages);
+        return consumedMessages.snapshot();
     }
 
     public List<ConsumedMessage> getConsumedMessages(int limit) {
-        List<ConsumedMessage> messages = new ArrayList<>(consumedMessages);
-        Collections.reverse(messages);
-        return messages.stream().limit(limit).toList();
+        return consumedMessages.latest(limit);
     }
 
     public void clearConsumedMessages() {
         consumedMessages.clear();
         logger.info("Cleared all consumed messages");
     }
+
+    private record BatchMeters(DistributionSummary size, Timer processing) {
+    }
 }
@@ -1,26 +1,92 @@
 package com.benchmark.kafka.service;
 
+import com.benchmark.kafka.dto.BatchSendResponse;
 import com.benchmark.kafka.dto.MessageRequest;
 import com.benchmark.kafka.dto.MessageResponse;
+import com.benchmark.kafka.dto.PartitionSendResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Service
 public class KafkaProducerService {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaProducerService.class);
+    private static final long ERROR_LOG_THROTTLE_MS = 60_000L;
+    private static final int MAX_REPORTED_ERRORS = 10;
+
+    /**
+     * How long {@link #sendBatch} waits before answering.
+     */
+    public enum AckPolicy {
+        /** Wait for every broker ack and report per-partition results. */
+        ALL,
+        /** Answer once every message is handed to the producer; results are not tracked. */
+        NONE,
+        /** Answer like {@code NONE}, but count acks and failures in metrics as they arrive. */
+        ASYNC;
+
+        public static AckPolicy parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
     
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final Validator validator;
+    private final int maxBatchMessages;
+    private final Map<AckPolicy, DistributionSummary> batchSizes = new EnumMap<>(AckPolicy.class);
+    private final Map<AckPolicy, Counter> ackedRecords = new EnumMap<>(AckPolicy.class);
+    private final Map<AckPolicy, Counter> failedRecords = new EnumMap<>(AckPolicy.class);
+    private final AtomicLong lastErrorLogMs = new AtomicLong(0L);
 
-    public KafkaProducerService(KafkaTemplate<String, Object> kafkaTemplate) {
+    public KafkaProducerService(KafkaTemplate<String, Object> kafkaTemplate,
+                                Validator validator,
+                                MeterRegistry meterRegistry,
+                                @Value("${kafka.producer.batch.max-messages:100000}") int maxBatchMessages) {
         this.kafkaTemplate = kafkaTemplate;
+        this.validator = validator;
+        this.maxBatchMessages = maxBatchMessages;
+        for (AckPolicy policy : AckPolicy.values()) {
+            String ack = policy.name().toLowerCase(Locale.ROOT);
+            batchSizes.put(policy, DistributionSummary.builder("kafka.producer.batch.size")
+                    .description("Messages handed to the producer per POST /messages/batch")
+                    .tag("ack", ack)
+                    .register(meterRegistry));
+            ackedRecords.put(policy, batchRecordCounter(meterRegistry, ack, "acked"));
+            failedRecords.put(policy, batchRecordCounter(meterRegistry, ack, "failed"));
+        }
+    }
+
+    private static Counter batchRecordCounter(MeterRegistry registry, String ack, String result) {
+        return Counter.builder("kafka.producer.batch.records")
+                .description("Broker results for batch messages (not tracked for ack=none)")
+                .tag("ack", ack)
+                .tag("result", result)
+                .register(registry);
     }
 
     public CompletableFuture<MessageResponse> sendMessage(MessageRequest request) {
@@ -65,4 +131,154 @@ public class KafkaProducerService {
         MessageRequest request = new MessageRequest(topic, key, payload);
         return sendMessage(request);
     }
+
+    /**
+     * Hands every message from {@code requests} to the producer as soon as it is
+     * read, without waiting for acks in between, so one call pipelines up to
+     * {@code kafka.producer.batch.max-messages} records. The producer's
+     * {@code buffer.memory} and {@code max.block.ms} provide the backpressure.
+     * Invalid messages are skipped and reported. Unreadable input or an oversized
+     * batch stops reading, and the response has {@code inputComplete = false}.
+     * Messages sent before that point are not withdrawn.
+     */
+    public CompletableFuture<BatchSendResponse> sendBatch(Iterator<MessageRequest> requests, AckPolicy ackPolicy) {
+        String batchId = UUID.randomUUID().toString();
+        long started = System.nanoTime();
+        BatchTracker tracker = new BatchTracker();
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        Counter acked = ackedRecords.get(ackPolicy);
+        Counter failed = failedRecords.get(ackPolicy);
+        boolean inputComplete = true;
+        int index = 0;
+
+        while (true) {
+            MessageRequest request;
+            try {
+                if (!requests.hasNext()) {
+                    break;
+                }
+                request = requests.next();
+            } catch (RuntimeException ex) {
+                tracker.error("Unreadable input at message " + index + ": " + ex.getMessage());
+                inputComplete = false;
+                break;
+            }
+            if (index >= maxBatchMessages) {
+                tracker.error("Batch exceeds " + maxBatchMessages + " messages, the rest was not read");
+                inputComplete = false;
+                break;
+            }
+            String invalid = validate(request);
+            if (invalid != null) {
+                tracker.rejected++;
+                tracker.error("Message " + index + " rejected: " + invalid);
+                index++;
+                continue;
+            }
+            try {
+                CompletableFuture<SendResult<String, Object>> future =
+                    kafkaTemplate.send(request.getTopic(), request.getKey(), request.getPayload());
+                tracker.accepted++;
+                if (ackPolicy == AckPolicy.ALL) {
+                    pending.add(future.whenComplete((result, ex) -> {
+                        tracker.complete(result, ex);
+                        (ex == null ? acked : failed).increment();
+                    }));
+                } else if (ackPolicy == AckPolicy.ASYNC) {
+                    future.whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            acked.increment();
+                        } else {
+                            failed.increment();
+                            throttleWarn("Batch " + batchId + " message to " + request.getTopic() + " failed: " + ex.getMessage());
+                        }
+                    });
+                }
+            } catch (RuntimeException ex) {
+                // Serialization errors and a full producer buffer surface here, not in the future
+                tracker.accepted++;
+                tracker.complete(null, ex);
+                failed.increment();
+            }
+            index++;
+        }
+        batchSizes.get(ackPolicy).record(tracker.accepted);
+        logger.info("Batch {} handed {} messages to the producer ({} rejected, ack={})",
+            batchId, tracker.accepted, tracker.rejected, ackPolicy);
+
+        boolean complete = inputComplete;
+        if (ackPolicy != AckPolicy.ALL) {
+            return CompletableFuture.completedFuture(tracker.toResponse(batchId, ackPolicy, complete, started, false));
+        }
+        return CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]))
+            .handle((ignored, ex) -> tracker.toResponse(batchId, ackPolicy, complete, started, true));
+    }
+
+    private String validate(MessageRequest request) {
+        Set<ConstraintViolation<MessageRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+    }
+
+    private void throttleWarn(String message) {
+        long now = System.currentTimeMillis();
+        long last = lastErrorLogMs.get();
+        if (now - last >= ERROR_LOG_THROTTLE_MS && lastErrorLogMs.compareAndSet(last, now)) {
+            logger.warn(message);
+        }
+    }
+
+    /**
+     * Counts are written by the request thread while reading, and acks arrive on
+     * the producer's I/O thread, hence the synchronized sections.
+     */
+    private static final class BatchTracker {
+
+        private int accepted;
+        private int rejected;
+        private int acked;
+        private int failed;
+        private final Map<TopicPartition, long[]> partitions = new LinkedHashMap<>();
+        private final List<String> errors = new ArrayList<>();
+
+        synchronized void complete(SendResult<String, Object> result, Throwable ex) {
+            if (ex != null) {
+                failed++;
+                error(ex.getMessage());
+                return;
+            }
+            acked++;
+            RecordMetadata metadata = result.getRecordMetadata();
+            // count, first offset, last offset
+            long[] stats = partitions.computeIfAbsent(new TopicPartition(metadata.topic(), metadata.partition()),
+                key -> new long[] {0, Long.MAX_VALUE, Long.MIN_VALUE});
+            stats[0]++;
+            stats[1] = Math.min(stats[1], metadata.offset());
+            stats[2] = Math.max(stats[2], metadata.offset());
+        }
+
+        synchronized void error(String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(message);
+            }
+        }
+
+        synchronized BatchSendResponse toResponse(String batchId, AckPolicy ackPolicy, boolean inputComplete,
+                                                  long startedNanos, boolean withResults) {
+            List<PartitionSendResult> results = null;
+            if (withResults) {
+                results = new ArrayList<>(partitions.size());
+                for (Map.Entry<TopicPartition, long[]> entry : partitions.entrySet()) {
+                    long[] stats = entry.getValue();
+                    results.add(new PartitionSendResult(entry.getKey().topic(), entry.getKey().partition(),
+                        stats[0], stats[1], stats[2]));
+                }
+            }
+            return new BatchSendResponse(batchId, ackPolicy.name().toLowerCase(Locale.ROOT), inputComplete,
+                accepted, rejected, withResults ? acked : null, withResults ? failed : null,
+                (System.nanoTime() - startedNanos) / 1_000_000, results, List.copyOf(errors));
+        }
+    }
 }
@@ -0,0 +1,310 @@
+package com.benchmark.kafka.service;
+
+import com.benchmark.kafka.dto.ProducerBenchmarkResult;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Produces synthetic orders as fast as the producer accepts them for a fixed
+ * time and reports what the producer settings achieved. Each run gets its own
+ * producer, copied from the application's producer factory, so its
+ * {@code producer-metrics} are not mixed with other traffic. A named profile
+ * from {@code kafka.producer.profiles} can be laid over the configured
+ * settings to compare profiles without a restart. Without one, the result is
+ * labelled with the profile the effective settings match, or {@code custom}.
+ */
+@Service
+public class ProducerBenchmarkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProducerBenchmarkService.class);
+    private static final String PROFILES_PREFIX = "kafka.producer.profiles.";
+    private static final String CUSTOM_PROFILE = "custom";
+    private static final int PAYLOAD_VARIANTS = 64;
+    private static final int MIN_PAYLOAD_BYTES = 64;
+    private static final int MAX_PAYLOAD_BYTES = 1_000_000;
+    private static final long DRAIN_TIMEOUT_MS = 30_000L;
+    private static final Set<String> REPORTED_PRODUCER_METRICS = Set.of(
+        "batch-size-avg", "record-size-avg", "records-per-request-avg", "compression-rate-avg",
+        "record-queue-time-avg", "request-latency-avg", "bufferpool-wait-ratio");
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99, 0.999};
+    private static final String[] PERCENTILE_LABELS = {"p50", "p95", "p99", "p999"};
+    private static final List<String> REPORTED_SETTINGS = List.of(
+        ProducerConfig.LINGER_MS_CONFIG, ProducerConfig.BATCH_SIZE_CONFIG, ProducerConfig.COMPRESSION_TYPE_CONFIG,
+        ProducerConfig.BUFFER_MEMORY_CONFIG, ProducerConfig.ACKS_CONFIG);
+
+    private final ProducerFactory<String, Object> producerFactory;
+    private final Environment environment;
+    private final String activeProfile;
+    private final String defaultTopic;
+    private final int maxDurationSeconds;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ProducerBenchmarkService(ProducerFactory<String, Object> producerFactory,
+                                    Environment environment,
+                                    @Value("${kafka.producer.profile:balanced}") String activeProfile,
+                                    @Value("${kafka.topics.orders:orders}") String defaultTopic,
+                                    @Value("${kafka.benchmark.max-duration-seconds:300}") int maxDurationSeconds) {
+        this.producerFactory = producerFactory;
+        this.environment = environment;
+        this.activeProfile = activeProfile;
+        this.defaultTopic = defaultTopic;
+        this.maxDurationSeconds = maxDurationSeconds;
+    }
+
+    /**
+     * @param topic          target topic, the orders topic when blank
+     * @param profile        profile to lay over the configured settings, none when blank
+     * @param durationSeconds how long to keep sending
+     * @param payloadBytes   approximate JSON size of each payload
+     * @return the result, or null if another run is in progress
+     * @throws IllegalArgumentException for out-of-range arguments or an unknown profile
+     */
+    public ProducerBenchmarkResult run(String topic, String profile, int durationSeconds, int payloadBytes) {
+        if (durationSeconds < 1 || durationSeconds > maxDurationSeconds) {
+            throw new IllegalArgumentException("durationSeconds must be between 1 and " + maxDurationSeconds);
+        }
+        if (payloadBytes < MIN_PAYLOAD_BYTES || payloadBytes > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("payloadBytes must be between " + MIN_PAYLOAD_BYTES + " and " + MAX_PAYLOAD_BYTES);
+        }
+        String target = StringUtils.hasText(topic) ? topic : defaultTopic;
+        String profileName = StringUtils.hasText(profile) ? profile.trim().toLowerCase(Locale.ROOT) : effectiveProfile();
+
+        Map<String, Object> overrides = new HashMap<>();
+        if (StringUtils.hasText(profile)) {
+            overrides.putAll(profileSettings(profileName));
+        }
+        overrides.put(ProducerConfig.CLIENT_ID_CONFIG, "producer-benchmark-" + profileName);
+
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        ProducerFactory<String, Object> factory = producerFactory.copyWithConfigurationOverride(overrides);
+        try {
+            return execute(factory, target, profileName, Duration.ofSeconds(durationSeconds), payloadBytes);
+        } finally {
+            factory.reset();
+            running.set(false);
+        }
+    }
+
+    /**
+     * Name of the profile the configured producer settings match, checking
+     * {@code kafka.producer.profile} first. Any single {@code KAFKA_*} override
+     * makes the settings {@code custom}.
+     */
+    private String effectiveProfile() {
+        Map<String, Object> config = producerFactory.getConfigurationProperties();
+        Set<String> names = new TreeSet<>(Binder.get(environment)
+            .bind(PROFILES_PREFIX.substring(0, PROFILES_PREFIX.length() - 1), Bindable.mapOf(String.class, Object.class))
+            .orElse(Map.of())
+            .keySet());
+        List<String> candidates = new ArrayList<>();
+        if (names.remove(activeProfile)) {
+            candidates.add(activeProfile);
+        }
+        candidates.addAll(names);
+        for (String name : candidates) {
+            boolean matches = true;
+            for (Map.Entry<String, Object> setting : profileSettings(name).entrySet()) {
+                Object value = config.get(setting.getKey());
+                if (value == null || !String.valueOf(value).trim().equalsIgnoreCase(String.valueOf(setting.getValue()).trim())) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                return name;
+            }
+        }
+        return CUSTOM_PROFILE;
+    }
+
+    private Map<String, Object> profileSettings(String name) {
+        String prefix = PROFILES_PREFIX + name + ".";
+        if (!environment.containsProperty(prefix + "linger-ms")) {
+            throw new IllegalArgumentException("Unknown producer profile '" + name + "'");
+        }
+        Map<String, Object> settings = new HashMap<>();
+        settings.put(ProducerConfig.LINGER_MS_CONFIG, environment.getRequiredProperty(prefix + "linger-ms"));
+        settings.put(ProducerConfig.BATCH_SIZE_CONFIG, environment.getRequiredProperty(prefix + "batch-size"));
+        settings.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, environment.getRequiredProperty(prefix + "compression-type"));
+        settings.put(ProducerConfig.BUFFER_MEMORY_CONFIG, environment.getRequiredProperty(prefix + "buffer-memory"));
+        return settings;
+    }
+
+    private ProducerBenchmarkResult execute(ProducerFactory<String, Object> factory, String topic, String profile,
+                                            Duration duration, int payloadBytes) {
+        KafkaTemplate<String, Object> template = new KafkaTemplate<>(factory);
+        List<Map<String, Object>> payloads = syntheticPayloads(payloadBytes);
+        // One histogram window that outlives the run, so percentiles cover every send
+        Timer latency = Timer.builder("producer.benchmark.send")
+            .publishPercentiles(PERCENTILES)
+            .distributionStatisticExpiry(duration.multipliedBy(2).plusMinutes(1))
+            .distributionStatisticBufferLength(1)
+            .register(new SimpleMeterRegistry());
+        AtomicLong acked = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        // The send count is only known once the loop ends; until then no completion can match it
+        AtomicLong expected = new AtomicLong(Long.MAX_VALUE);
+        CountDownLatch drained = new CountDownLatch(1);
+        Runnable complete = () -> {
+            if (completed.incrementAndGet() == expected.get()) {
+                drained.countDown();
+            }
+        };
+
+        logger.info("Producer benchmark started: profile={}, topic={}, duration={}s, payload~{} bytes",
+            profile, topic, duration.toSeconds(), payloadBytes);
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        long sent = 0;
+        while (System.nanoTime() < deadline) {
+            long sendStarted = System.nanoTime();
+            try {
+                template.send(topic, "bench-" + sent, payloads.get((int) (sent % PAYLOAD_VARIANTS)))
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            latency.record(System.nanoTime() - sendStarted, TimeUnit.NANOSECONDS);
+                            RecordMetadata metadata = result.getRecordMetadata();
+                            bytes.addAndGet(Math.max(0, metadata.serializedKeySize()) + Math.max(0, metadata.serializedValueSize()));
+                            acked.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                        complete.run();
+                    });
+            } catch (RuntimeException ex) {
+                failed.incrementAndGet();
+                complete.run();
+            }
+            sent++;
+        }
+        template.flush();
+        expected.set(sent);
+        if (completed.get() >= sent) {
+            drained.countDown();
+        }
+        try {
+            if (!drained.await(DRAIN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                logger.warn("Producer benchmark: {} of {} sends still pending after {} ms",
+                    sent - completed.get(), sent, DRAIN_TIMEOUT_MS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        long elapsedNanos = System.nanoTime() - started;
+
+        Map<String, Double> producerMetrics = producerMetrics(template);
+        Map<String, Object> settings = new LinkedHashMap<>();
+        for (String key : REPORTED_SETTINGS) {
+            settings.put(key, factory.getConfigurationProperties().get(key));
+        }
+        Double batchFillRatio = null;
+        Object batchSize = settings.get(ProducerConfig.BATCH_SIZE_CONFIG);
+        if (producerMetrics.containsKey("batch-size-avg") && batchSize != null) {
+            batchFillRatio = round(producerMetrics.get("batch-size-avg") / Double.parseDouble(batchSize.toString()), 3);
+        }
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long records = acked.get();
+        ProducerBenchmarkResult result = new ProducerBenchmarkResult(profile, topic, settings,
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos), records, failed.get(),
+            round(records / seconds, 1), round(bytes.get() / seconds / (1024 * 1024), 3),
+            records == 0 ? 0.0 : round((double) bytes.get() / records, 1),
+            batchFillRatio, latencies(latency), producerMetrics);
+        logger.info("Producer benchmark finished: profile={}, {} records/s, {} MB/s, batch fill {}, p99 {} ms, {} failed",
+            profile, result.getRecordsPerSecond(), result.getMegabytesPerSecond(), batchFillRatio,
+            result.getLatencyMs().get("p99"), result.getFailed());
+        return result;
+    }
+
+    /**
+     * Orders shaped like the {@code orders} schema, padded with item SKUs to
+     * roughly {@code payloadBytes} of JSON.
+     */
+    private static List<Map<String, Object>> syntheticPayloads(int payloadBytes) {
+        List<Map<String, Object>> payloads = new ArrayList<>(PAYLOAD_VARIANTS);
+        for (int variant = 0; variant < PAYLOAD_VARIANTS; variant++) {
+            Map<String, Object> order = new LinkedHashMap<>();
+            order.put("orderId", String.format("ORD-%08d", variant));
+            order.put("customerId", String.format("CUST-%05d", variant * 7919 % 100_000));
+            order.put("amount", 10 + variant * 1.37);
+            order.put("quantity", 1 + variant % 5);
+            order.put("currency", "USD");
+            order.put("status", "PENDING");
+            List<String> items = new ArrayList<>();
+            // ~130 bytes of JSON above, 15 bytes per quoted SKU and comma
+            for (int size = 130; size < payloadBytes; size += 15) {
+                items.add(String.format("SKU-%08d", (variant * 31 + items.size()) % 100_000_000));
+            }
+            order.put("items", items);
+            payloads.add(order);
+        }
+        return payloads;
+    }
+
+    private static Map<String, Double> producerMetrics(KafkaTemplate<String, Object> template) {
+        Map<String, Double> values = new TreeMap<>();
+        for (Map.Entry<MetricName, ? extends Metric> entry : template.metrics().entrySet()) {
+            MetricName name = entry.getKey();
+            if ("producer-metrics".equals(name.group()) && REPORTED_PRODUCER_METRICS.contains(name.name())
+                    && entry.getValue().metricValue() instanceof Double value && Double.isFinite(value)) {
+                values.put(name.name(), round(value, 3));
+            }
+        }
+        return values;
+    }
+
+    private static Map<String, Double> latencies(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Double> latency = new LinkedHashMap<>();
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                if (Math.abs(PERCENTILES[i] - percentile.percentile()) < 1e-9) {
+                    latency.put(PERCENTILE_LABELS[i], round(percentile.value(TimeUnit.MILLISECONDS), 3));
+                }
+            }
+        }
+        latency.put("mean", round(snapshot.mean(TimeUnit.MILLISECONDS), 3));
+        latency.put("max", round(snapshot.max(TimeUnit.MILLISECONDS), 3));
+        return latency;
+    }
+
+    private static double round(double value, int decimals) {
+        double scale = Math.pow(10, decimals);
+        return Math.round(value * scale) / scale;
+    }
+}
@@ -0,0 +1,88 @@
+package com.benchmark.kafka.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity, lock-free buffer that keeps the newest {@code capacity}
+ * entries and overwrites the oldest.
+ *
+ * <p>Writers claim a sequence number with one {@code getAndIncrement} and publish
+ * into slot {@code sequence % capacity}, so {@link #add} is O(1) for any number
+ * of concurrent writers. Readers walk backwards from the last claimed sequence and
+ * skip slots whose sequence does not match: those are still being written or
+ * have already been overwritten. Reads never block writers, and the only
+ * allocation is the result list.
+ */
+public final class RingBuffer<T> {
+
+    private final int capacity;
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long floor;
+
+    public RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1, was " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void add(T value) {
+        long seq = sequence.getAndIncrement();
+        int index = (int) (seq % capacity);
+        Slot<T> slot = new Slot<>(seq, value);
+        Slot<T> current = slots.get(index);
+        // A writer that stalled for a whole lap must not replace a newer entry
+        while ((current == null || current.sequence < seq) && !slots.compareAndSet(index, current, slot)) {
+            current = slots.get(index);
+        }
+    }
+
+    /**
+     * Up to {@code limit} of the newest entries, newest first.
+     */
+    public List<T> latest(int limit) {
+        long end = sequence.get();
+        long start = Math.max(Math.max(end - capacity, floor), end - Math.max(limit, 0));
+        if (start >= end) {
+            return Collections.emptyList();
+        }
+        List<T> result = new ArrayList<>((int) (end - start));
+        for (long seq = end - 1; seq >= start; seq--) {
+            Slot<T> slot = slots.get((int) (seq % capacity));
+            if (slot != null && slot.sequence == seq) {
+                result.add(slot.value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Every retained entry, oldest first.
+     */
+    public List<T> snapshot() {
+        List<T> entries = latest(capacity);
+        Collections.reverse(entries);
+        return entries;
+    }
+
+    /**
+     * Hides everything added so far. Slots are left in place and are overwritten
+     * by later writes.
+     */
+    public void clear() {
+        floor = sequence.get();
+    }
+
+    private record Slot<T>(long sequence, T value) {
+    }
+}
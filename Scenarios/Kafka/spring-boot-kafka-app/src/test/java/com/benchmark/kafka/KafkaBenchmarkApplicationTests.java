@@ -1,15 +1,192 @@
 package com.benchmark.kafka;
 
+import com.benchmark.kafka.controller.MessageController;
+import com.benchmark.kafka.dto.BatchSendResponse;
+import com.benchmark.kafka.dto.PartitionSendResult;
+import com.benchmark.kafka.dto.ProducerBenchmarkResult;
+import com.benchmark.kafka.service.KafkaConsumerService;
+import com.benchmark.kafka.service.ProducerBenchmarkService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
 import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
-@EmbeddedKafka(partitions = 1, topics = {"orders", "events"})
+@EmbeddedKafka(partitions = 1, topics = {"orders", "events", "producer-benchmark"})
 class KafkaBenchmarkApplicationTests {
 
+    private static final Logger logger = LoggerFactory.getLogger(KafkaBenchmarkApplicationTests.class);
+    private static final int MESSAGES_PER_MODE = 2000;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Autowired
+    private KafkaConsumerService consumerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MessageController messageController;
+
+    @Autowired
+    private ProducerBenchmarkService producerBenchmarkService;
+
     @Test
     void contextLoads() {
         // Test that the application context loads successfully
     }
+
+    @Test
+    void testRecordAndBatchListenerThroughput() throws Exception {
+        MessageListenerContainer recordListener = listenerRegistry.getListenerContainer(KafkaConsumerService.ORDERS_RECORD_LISTENER);
+        MessageListenerContainer batchListener = listenerRegistry.getListenerContainer(KafkaConsumerService.ORDERS_BATCH_LISTENER);
+        assertNotNull(recordListener);
+        assertNotNull(batchListener);
+        assertTrue(recordListener.isRunning(), "record mode is the default");
+        assertFalse(batchListener.isRunning(), "batch listeners only start in batch mode");
+
+        ContainerTestUtils.waitForAssignment(recordListener, 1);
+        double recordRate = produceAndConsume("record");
+
+        // Offsets are committed per poll, so the batch listener picks up where the record one stopped
+        recordListener.stop();
+        batchListener.start();
+        ContainerTestUtils.waitForAssignment(batchListener, 1);
+        double batchRate = produceAndConsume("batch");
+
+        logger.info("Consumer throughput for {} messages: record mode {} msg/s, batch mode {} msg/s",
+                MESSAGES_PER_MODE, Math.round(recordRate), Math.round(batchRate));
+
+        DistributionSummary batchSize = meterRegistry.find("kafka.consumer.batch.size").tag("topic", "orders").summary();
+        Timer batchProcessing = meterRegistry.find("kafka.consumer.batch.processing").tag("topic", "orders").timer();
+        assertNotNull(batchSize);
+        assertNotNull(batchProcessing);
+        assertTrue(batchSize.count() > 0);
+        assertTrue(batchSize.totalAmount() >= MESSAGES_PER_MODE);
+        assertTrue(batchSize.max() > 1, "polls should deliver more than one record at a time");
+
+        batchListener.stop();
+        recordListener.start();
+    }
+
+    @Test
+    void testBatchEndpointStreamsNdjsonAndAggregatesPartitions() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            ndjson.append("{\"topic\":\"events\",\"key\":\"evt-").append(i)
+                    .append("\",\"payload\":{\"eventId\":\"").append(i).append("\"}}\n");
+        }
+        ndjson.append("{\"topic\":\"events\",\"payload\":{}}\n");
+
+        ResponseEntity<BatchSendResponse> all = messageController.sendBatch("all", stream(ndjson)).get(30, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.CREATED, all.getStatusCode());
+        BatchSendResponse response = all.getBody();
+        assertNotNull(response);
+        assertTrue(response.isInputComplete());
+        assertEquals(500, response.getAccepted());
+        assertEquals(1, response.getRejected());
+        assertEquals(500, response.getAcked());
+        assertEquals(0, response.getFailed());
+        assertEquals(1, response.getPartitions().size());
+        PartitionSendResult partition = response.getPartitions().get(0);
+        assertEquals("events", partition.getTopic());
+        assertEquals(500L, partition.getCount());
+        assertEquals(499L, partition.getLastOffset() - partition.getFirstOffset());
+
+        // A JSON array body is accepted too; without acks there are no broker results
+        String array = "[{\"topic\":\"events\",\"key\":\"a\",\"payload\":{\"n\":1}},"
+                + "{\"topic\":\"events\",\"key\":\"b\",\"payload\":{\"n\":2}}]";
+        ResponseEntity<BatchSendResponse> none = messageController.sendBatch("none", stream(array)).get(30, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.ACCEPTED, none.getStatusCode());
+        assertEquals(2, none.getBody().getAccepted());
+        assertNull(none.getBody().getPartitions());
+
+        ResponseEntity<BatchSendResponse> broken = messageController.sendBatch("async",
+                stream("{\"topic\":\"events\",\"key\":\"c\",\"payload\":{}}\n{not json")).get(30, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.BAD_REQUEST, broken.getStatusCode());
+        assertEquals(1, broken.getBody().getAccepted());
+        assertFalse(broken.getBody().isInputComplete());
+
+        assertEquals(HttpStatus.BAD_REQUEST, messageController.sendBatch("sometimes", stream("[]")).get().getStatusCode());
+    }
+
+    @Test
+    void testProducerProfilesBenchmark() {
+        Map<String, String> batchSizes = Map.of("latency", "16384", "balanced", "16384", "throughput", "262144");
+        for (String profile : List.of("latency", "balanced", "throughput")) {
+            ProducerBenchmarkResult result = producerBenchmarkService.run("producer-benchmark", profile, 2, 512);
+            assertNotNull(result);
+            logger.info("Producer profile {}: {} records/s, {} MB/s, batch fill {}, latency {} ms",
+                    profile, result.getRecordsPerSecond(), result.getMegabytesPerSecond(),
+                    result.getBatchFillRatio(), result.getLatencyMs());
+            assertEquals(profile, result.getProfile());
+            assertEquals(batchSizes.get(profile), String.valueOf(result.getSettings().get("batch.size")));
+            assertTrue(result.getRecords() > 0);
+            assertEquals(0, result.getFailed());
+            assertTrue(result.getAvgRecordBytes() > 400, "payload should be close to the requested size");
+            assertNotNull(result.getLatencyMs().get("p99"));
+            assertNotNull(result.getBatchFillRatio());
+        }
+        // The test yaml sets no producer tuning, so the client defaults match none of the profiles
+        ProducerBenchmarkResult unnamed = producerBenchmarkService.run("producer-benchmark", null, 1, 512);
+        assertNotNull(unnamed);
+        assertEquals("custom", unnamed.getProfile());
+        assertThrows(IllegalArgumentException.class,
+                () -> producerBenchmarkService.run("producer-benchmark", "warp-speed", 1, 512));
+        assertThrows(IllegalArgumentException.class,
+                () -> producerBenchmarkService.run("producer-benchmark", null, 0, 512));
+    }
+
+    private static ByteArrayInputStream stream(CharSequence body) {
+        return new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private double produceAndConsume(String mode) throws Exception {
+        // Only orders: other tests also produce to events
+        long target = consumerService.getConsumedCount("orders") + MESSAGES_PER_MODE;
+        long started = System.nanoTime();
+        for (int i = 0; i < MESSAGES_PER_MODE; i++) {
+            // JSON type headers name the payload class, so send a map type the consumer can instantiate
+            kafkaTemplate.send("orders", mode + "-" + i, new LinkedHashMap<>(Map.of("orderId", i, "mode", mode)));
+        }
+        kafkaTemplate.flush();
+
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (consumerService.getConsumedCount("orders") < target) {
+            assertTrue(System.currentTimeMillis() < deadline,
+                    mode + " mode consumed " + consumerService.getConsumedCount("orders") + " of " + target);
+            Thread.sleep(20);
+        }
+        return MESSAGES_PER_MODE / ((System.nanoTime() - started) / 1_000_000_000.0);
+    }
 }
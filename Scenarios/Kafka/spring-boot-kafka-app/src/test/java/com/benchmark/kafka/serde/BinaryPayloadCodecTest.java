@@ -0,0 +1,96 @@
+package com.benchmark.kafka.serde;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryPayloadCodecTest {
+
+    @Test
+    void testRoundTripAndFallBackToJson() {
+        LocalSchemaRegistry registry = new LocalSchemaRegistry(Map.of("orders", "orders", "events", "events"));
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        Map<String, Object> config = Map.of("spring.json.trusted.packages", "*");
+        PayloadSerializer binary = new PayloadSerializer(PayloadSerializer.FORMAT_BINARY, registry, meters);
+        PayloadSerializer json = new PayloadSerializer(PayloadSerializer.FORMAT_JSON, registry, meters);
+        PayloadDeserializer deserializer = new PayloadDeserializer(registry);
+        binary.configure(config, false);
+        json.configure(config, false);
+        deserializer.configure(config, false);
+
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("orderId", "ORD-000123");
+        order.put("customerId", "CUST-00042");
+        order.put("amount", 149.99);
+        order.put("quantity", 3);
+        order.put("items", List.of("SKU-1", "SKU-2"));
+
+        byte[] binaryBytes = binary.serialize("orders", new RecordHeaders(), order);
+        RecordHeaders jsonHeaders = new RecordHeaders();
+        byte[] jsonBytes = json.serialize("orders", jsonHeaders, order);
+        assertTrue(BinaryPayloadCodec.isBinary(binaryBytes));
+        assertFalse(BinaryPayloadCodec.isBinary(jsonBytes));
+        assertTrue(binaryBytes.length < jsonBytes.length,
+                "binary " + binaryBytes.length + " bytes vs JSON " + jsonBytes.length + " bytes");
+
+        // Integers come back as the schema's long, everything else unchanged
+        assertEquals(Map.of("orderId", "ORD-000123", "customerId", "CUST-00042", "amount", 149.99,
+                "quantity", 3L, "items", List.of("SKU-1", "SKU-2")),
+                deserializer.deserialize("orders", new RecordHeaders(), binaryBytes));
+        assertEquals(order, deserializer.deserialize("orders", jsonHeaders, jsonBytes));
+
+        // A number in a string field, or a decimal in a double field, is not coerced but written as JSON
+        Map<String, Object> numericId = new LinkedHashMap<>(order);
+        numericId.put("customerId", 42);
+        RecordHeaders numericIdHeaders = new RecordHeaders();
+        byte[] numericIdBytes = binary.serialize("orders", numericIdHeaders, numericId);
+        assertFalse(BinaryPayloadCodec.isBinary(numericIdBytes));
+        assertEquals(42, ((Map<?, ?>) deserializer.deserialize("orders", numericIdHeaders, numericIdBytes)).get("customerId"));
+        Map<String, Object> decimalAmount = new LinkedHashMap<>(order);
+        decimalAmount.put("amount", new BigDecimal("149.990000000000000001"));
+        assertFalse(BinaryPayloadCodec.isBinary(binary.serialize("orders", new RecordHeaders(), decimalAmount)));
+
+        // A field outside the schema is written as JSON, counted, and still readable
+        Map<String, Object> extended = new LinkedHashMap<>();
+        extended.put("orderId", "ORD-000124");
+        extended.put("shipping", Map.of("city", "Oslo"));
+        RecordHeaders fallbackHeaders = new RecordHeaders();
+        byte[] fallbackBytes = binary.serialize("orders", fallbackHeaders, extended);
+        assertFalse(BinaryPayloadCodec.isBinary(fallbackBytes));
+        assertEquals(extended, deserializer.deserialize("orders", fallbackHeaders, fallbackBytes));
+        assertEquals(3.0, meters.get("kafka.serde.fallback").tag("topic", "orders").counter().count());
+    }
+
+    @Test
+    void testMalformedPayloadsAreRejected() {
+        LocalSchemaRegistry registry = new LocalSchemaRegistry(Map.of("orders", "orders"));
+        BinaryPayloadCodec codec = new BinaryPayloadCodec(registry);
+        byte[] valid = codec.encode(registry.forTopic("orders"), Map.of("orderId", "ORD-1", "items", List.of("SKU-1", "SKU-2")));
+        assertEquals(List.of("SKU-1", "SKU-2"), codec.decode(valid).get("items"));
+
+        // Cut off inside the last string
+        byte[] truncated = Arrays.copyOf(valid, valid.length - 2);
+        assertThrows(SerializationException.class, () -> codec.decode(truncated));
+
+        // Schema id 1, only items (bit 6) present, followed by a count of one million and no data
+        byte[] oversizedCount = {0x00, 0, 0, 0, 1, 0x40, (byte) 0x80, (byte) 0x89, 0x7A};
+        SerializationException oversized = assertThrows(SerializationException.class,
+                () -> codec.decode(oversizedCount));
+        assertTrue(oversized.getMessage().contains("count"), oversized.getMessage());
+
+        byte[] unknownSchema = {0x00, 0, 0, 0, 99, 0x00};
+        assertThrows(SerializationException.class, () -> codec.decode(unknownSchema));
+    }
+}
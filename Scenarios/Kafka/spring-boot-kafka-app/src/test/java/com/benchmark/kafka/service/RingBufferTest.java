@@ -0,0 +1,64 @@
+package com.benchmark.kafka.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferTest {
+
+    @Test
+    void testKeepsNewestEntries() throws Exception {
+        RingBuffer<Integer> buffer = new RingBuffer<>(5);
+        for (int i = 0; i < 12; i++) {
+            buffer.add(i);
+        }
+        assertEquals(List.of(11, 10, 9), buffer.latest(3));
+        assertEquals(List.of(7, 8, 9, 10, 11), buffer.snapshot());
+        assertEquals(List.of(11, 10, 9, 8, 7), buffer.latest(50));
+
+        buffer.clear();
+        assertTrue(buffer.latest(5).isEmpty());
+        buffer.add(12);
+        assertEquals(List.of(12), buffer.snapshot());
+
+        // Concurrent writers: every retained entry is one that was written, with no duplicates
+        RingBuffer<Integer> shared = new RingBuffer<>(100);
+        int writers = 4;
+        int perWriter = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int base = w * perWriter;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        shared.add(base + i);
+                        if (i % 1000 == 0) {
+                            assertTrue(shared.latest(10).size() <= 10);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        List<Integer> retained = shared.snapshot();
+        Set<Integer> distinct = new HashSet<>(retained);
+        assertEquals(100, retained.size());
+        assertEquals(100, distinct.size());
+        assertTrue(distinct.stream().allMatch(value -> value >= 0 && value < writers * perWriter));
+    }
+}
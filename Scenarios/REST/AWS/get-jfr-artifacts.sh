@@ -0,0 +1,26 @@
+#!/bin/bash
+set -euo pipefail
+
+# Fetch the parsed report and folded stacks of the continuous JFR recording from a
+# running task. The raw .jfr is not saved: run directories are committed.
+# Requires APP_JFR_ENABLED=true and the flightrecording actuator endpoint exposed,
+# e.g. MANAGEMENT_ENDPOINTS_WEB_EXPOSURE_INCLUDE=health,metrics,prometheus,flightrecording
+# on a task that is not reachable from the internet.
+
+if [[ $# -lt 2 ]]; then
+  echo "Usage: $0 <base-url> <run-dir> [minutes]"
+  echo "Example: $0 http://java-bench-alb-1220469541.us-east-1.elb.amazonaws.com runs/Scenarios/REST/read-heavy/java25/2026-03-02/1 15"
+  exit 1
+fi
+
+BASE_URL="${1%/}"
+RUN_DIR="$2"
+MINUTES="${3:-15}"
+
+mkdir -p "$RUN_DIR"
+
+curl -sf "$BASE_URL/actuator/flightrecording?minutes=$MINUTES&top=30" -o "$RUN_DIR/jfr-summary.json"
+curl -sf "$BASE_URL/actuator/flightrecording/collapsed?minutes=$MINUTES" -o "$RUN_DIR/jfr-collapsed.txt"
+
+echo "Wrote jfr-summary.json and jfr-collapsed.txt to $RUN_DIR"
+echo "Flame graph: flamegraph.pl $RUN_DIR/jfr-collapsed.txt > flame.svg (or load the file in speedscope.app)"
@@ -0,0 +1,32 @@
+package com.benchmark.jmh;
+
+import com.benchmark.app.entity.Customer;
+import com.benchmark.app.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Representative entities, shaped like the rows k6 creates.
+ */
+final class BenchmarkData {
+
+    static final Instant CREATED_AT = Instant.parse("2025-01-15T10:15:30.123456Z");
+
+    private BenchmarkData() {
+    }
+
+    static Customer customer(long id) {
+        Customer customer = new Customer("Benchmark", "User" + id, "benchmark.user" + id + "@example.com");
+        customer.setId(id);
+        customer.setCreatedAt(CREATED_AT);
+        return customer;
+    }
+
+    static Order order(long id, long customerId) {
+        Order order = new Order(customerId, new BigDecimal("149.99"));
+        order.setId(id);
+        order.setCreatedAt(CREATED_AT);
+        return order;
+    }
+}
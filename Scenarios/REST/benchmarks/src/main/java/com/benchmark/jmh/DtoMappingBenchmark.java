@@ -0,0 +1,49 @@
+package com.benchmark.jmh;
+
+import com.benchmark.app.dto.CustomerResponse;
+import com.benchmark.app.dto.OrderResponse;
+import com.benchmark.app.entity.Customer;
+import com.benchmark.app.entity.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response DTO copies done on every GET and POST.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private Customer customer;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        customer = BenchmarkData.customer(42L);
+        order = BenchmarkData.order(4242L, 42L);
+    }
+
+    @Benchmark
+    public CustomerResponse customerFromEntity() {
+        return CustomerResponse.fromEntity(customer);
+    }
+
+    @Benchmark
+    public OrderResponse orderFromEntity() {
+        return OrderResponse.fromEntity(order);
+    }
+}
@@ -0,0 +1,82 @@
+package com.benchmark.jmh;
+
+import com.benchmark.app.entity.Customer;
+
+import java.time.Instant;
+
+/**
+ * The getter-based {@code CustomerResponse} before it became a record, kept as
+ * the baseline for {@link ResponseSerializationBenchmark}.
+ */
+public class LegacyCustomerResponse {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private Instant createdAt;
+
+    // Constructors
+    public LegacyCustomerResponse() {
+    }
+
+    public LegacyCustomerResponse(Long id, String firstName, String lastName, String email, Instant createdAt) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.createdAt = createdAt;
+    }
+
+    // Create from Entity
+    public static LegacyCustomerResponse fromEntity(Customer customer) {
+        return new LegacyCustomerResponse(
+            customer.getId(),
+            customer.getFirstName(),
+            customer.getLastName(),
+            customer.getEmail(),
+            customer.getCreatedAt()
+        );
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
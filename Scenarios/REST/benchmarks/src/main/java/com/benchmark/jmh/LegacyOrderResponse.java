@@ -0,0 +1,72 @@
+package com.benchmark.jmh;
+
+import com.benchmark.app.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * The getter-based {@code OrderResponse} before it became a record, kept as
+ * the baseline for {@link ResponseSerializationBenchmark}.
+ */
+public class LegacyOrderResponse {
+
+    private Long id;
+    private Long customerId;
+    private BigDecimal amount;
+    private Instant createdAt;
+
+    // Constructors
+    public LegacyOrderResponse() {
+    }
+
+    public LegacyOrderResponse(Long id, Long customerId, BigDecimal amount, Instant createdAt) {
+        this.id = id;
+        this.customerId = customerId;
+        this.amount = amount;
+        this.createdAt = createdAt;
+    }
+
+    // Create from Entity
+    public static LegacyOrderResponse fromEntity(Order order) {
+        return new LegacyOrderResponse(
+            order.getId(),
+            order.getCustomerId(),
+            order.getAmount(),
+            order.getCreatedAt()
+        );
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,131 @@
+package com.benchmark.jmh;
+
+import com.benchmark.app.BenchmarkApplication;
+import com.benchmark.app.entity.Customer;
+import com.benchmark.app.repository.CustomerJdbcRepository;
+import com.benchmark.app.repository.CustomerRepository;
+import com.benchmark.app.repository.OrderJdbcRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Repository calls behind the REST endpoints, against the application context
+ * (JPA, Hikari, Flyway migrations) on an in-memory H2 database standing in for
+ * PostgreSQL. This isolates ORM and driver overhead from network and RDS latency,
+ * so absolute numbers are far below a real run; use it to compare JDKs and code
+ * changes, not to predict k6 results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    private static final int CUSTOMERS = 10_000;
+    private static final int PAGE_SIZE = 100;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private CustomerJdbcRepository customerJdbcRepository;
+    private OrderJdbcRepository orderJdbcRepository;
+    private long[] ids;
+    private Set<Long> batchCustomerIds;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=validate",
+                        "spring.jpa.open-in-view=false",
+                        "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=pooled-lo",
+                        "spring.jpa.properties.hibernate.id.sequence.increment_size_mismatch_strategy=fix",
+                        "spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}",
+                        "spring.flyway.placeholders.id_allocation_size=50")
+                .run();
+        customerRepository = context.getBean(CustomerRepository.class);
+        customerJdbcRepository = context.getBean(CustomerJdbcRepository.class);
+        orderJdbcRepository = context.getBean(OrderJdbcRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Timestamp createdAt = Timestamp.from(BenchmarkData.CREATED_AT);
+        List<Object[]> rows = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            rows.add(new Object[] {"Benchmark", "User" + i, "benchmark.user" + i + "@example.com", createdAt});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO customers (first_name, last_name, email, created_at) VALUES (?, ?, ?, ?)", rows);
+        // Raw inserts take ids from the pooled sequence, so they are not contiguous
+        ids = jdbcTemplate.queryForList("SELECT id FROM customers ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+
+        batchCustomerIds = new HashSet<>();
+        for (int i = 0; batchCustomerIds.size() < 50; i += 7) {
+            batchCustomerIds.add(ids[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Customer> findCustomerById() {
+        return customerRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Customer> keysetPage() {
+        return customerRepository.findByIdGreaterThanOrderByIdAsc(randomId(), Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public long streamThousandCustomers() {
+        AtomicLong count = new AtomicLong();
+        long afterId = ids[ids.length - 1_001];
+        customerJdbcRepository.streamAfter(afterId, customer -> count.incrementAndGet());
+        return count.get();
+    }
+
+    @Benchmark
+    public Set<Long> findExistingCustomerIds() {
+        return orderJdbcRepository.findExistingCustomerIds(batchCustomerIds);
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
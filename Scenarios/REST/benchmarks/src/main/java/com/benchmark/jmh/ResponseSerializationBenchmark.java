@@ -0,0 +1,77 @@
+package com.benchmark.jmh;
+
+import com.benchmark.app.dto.CustomerResponse;
+import com.benchmark.app.dto.OrderResponse;
+import com.benchmark.app.entity.Customer;
+import com.benchmark.app.entity.Order;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to JSON bytes for one GET response, as the message converter does it
+ * (gzip excluded). The {@code legacy*} benchmarks use the previous getter-based
+ * POJOs and Jackson's reflective bean serializer; the others use the response
+ * records with their hand-written serializers. Compare {@code gc.alloc.rate.norm}
+ * (bytes per operation) with {@code -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    private final OutputStream sink = OutputStream.nullOutputStream();
+    private ObjectMapper objectMapper;
+    private Customer customer;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        // Same modules and date handling as Spring Boot's auto-configured ObjectMapper
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .build();
+        customer = BenchmarkData.customer(42L);
+        order = BenchmarkData.order(4242L, 42L);
+    }
+
+    @Benchmark
+    public void legacyCustomer() throws IOException {
+        objectMapper.writeValue(sink, LegacyCustomerResponse.fromEntity(customer));
+    }
+
+    @Benchmark
+    public void recordCustomer() throws IOException {
+        objectMapper.writeValue(sink, CustomerResponse.fromEntity(customer));
+    }
+
+    @Benchmark
+    public void legacyOrder() throws IOException {
+        objectMapper.writeValue(sink, LegacyOrderResponse.fromEntity(order));
+    }
+
+    @Benchmark
+    public void recordOrder() throws IOException {
+        objectMapper.writeValue(sink, OrderResponse.fromEntity(order));
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Scenario 8: Order List Rendering (multi-get vs one call per customer)
+ * 
+ * Each iteration renders an order list that needs CUSTOMERS_PER_PAGE customers
+ * (default 20), either:
+ * - MODE=multi-get (default): one GET /customers?ids=...
+ * - MODE=per-id: CUSTOMERS_PER_PAGE parallel GET /customers/{id} calls (http.batch)
+ * 
+ * Run once per mode and compare page_render_duration and http_reqs.
+ * 
+ * Load Profile:
+ * - Warm-up: 2 min at 50 VUs
+ * - Main load: 10 min at 300 VUs
+ * - Cool-down: 2 min ramp down
+ * 
+ * Total duration: ~14 minutes
+ */
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+import { BASE_URL, getCustomersByIds, getRandomCustomerId, checkApplicationHealth, logScenarioMetrics, sleepWithJitter } from './utils.js';
+
+const MODE = __ENV.MODE || 'multi-get';
+const CUSTOMERS_PER_PAGE = parseInt(__ENV.CUSTOMERS_PER_PAGE || '20', 10);
+
+// Wall time for everything one page needs, whichever way it is fetched
+const pageRenderDuration = new Trend('page_render_duration', true);
+
+export const options = {
+  stages: [
+    // Warm-up phase: 2 minutes at low load
+    { duration: '2m', target: 50 },
+    // Main load phase: 10 minutes at high load
+    { duration: '10m', target: 300 },
+    // Cool-down phase: 2 minutes ramp down
+    { duration: '2m', target: 0 },
+  ],
+  
+  // Thresholds for acceptable performance
+  thresholds: {
+    'page_render_duration': ['p(99)<1500', 'p(95)<750'],
+    'http_req_failed': ['rate<0.05'],
+    'http_reqs': ['count>0'],
+  },
+  
+  tags: {
+    mode: MODE,
+  },
+};
+
+function pageCustomerIds() {
+  const ids = [];
+  for (let i = 0; i < CUSTOMERS_PER_PAGE; i++) {
+    ids.push(getRandomCustomerId());
+  }
+  return ids;
+}
+
+function renderPerId(ids) {
+  const responses = http.batch(ids.map((id) => ['GET', `${BASE_URL}/customers/${id}`, null, {
+    tags: { name: 'GET /customers/{id}' },
+  }]));
+  
+  check(responses, {
+    'GET /customers/{id} all 200 or 404': (rs) => rs.every((r) => r.status === 200 || r.status === 404),
+  });
+}
+
+export default function() {
+  const ids = pageCustomerIds();
+  const start = Date.now();
+  
+  if (MODE === 'per-id') {
+    renderPerId(ids);
+  } else {
+    getCustomersByIds(ids);
+  }
+  
+  pageRenderDuration.add(Date.now() - start);
+  
+  // Think-time between pages, with jitter to avoid thundering herd
+  const thinkTime = Math.random() * 2 + 0.5; // 0.5-2.5 seconds
+  __VU > 0 && __ITER > 0 ? sleepWithJitter(thinkTime) : null;
+}
+
+export function setup() {
+  const startDateTime = new Date().toISOString();
+  const startEpoch = Date.now();
+  
+  console.log('========================================');
+  console.log('TEST START TIME');
+  console.log('========================================');
+  console.log('ISO Format: ' + startDateTime);
+  console.log('Epoch (ms): ' + startEpoch);
+  console.log(`Mode: ${MODE}, customers per page: ${CUSTOMERS_PER_PAGE}`);
+  console.log('Running setup - checking application health...');
+  
+  const health = checkApplicationHealth();
+  
+  if (health.status !== 200) {
+    throw new Error(`Application health check failed: ${health.status}`);
+  }
+  
+  return {
+    startTime: startEpoch,
+    startDateTime: startDateTime,
+    testName: `Multi-Get (${MODE})`,
+  };
+}
+
+export function teardown(data) {
+  const endDateTime = new Date().toISOString();
+  const endEpoch = Date.now();
+  
+  console.log('========================================');
+  console.log('TEST END TIME');
+  console.log('========================================');
+  console.log('ISO Format: ' + endDateTime);
+  console.log('Epoch (ms): ' + endEpoch);
+  console.log('Running teardown - checking application health...');
+  
+  data.endTime = endEpoch;
+  data.endDateTime = endDateTime;
+  
+  const durationSec = (data.endTime - data.startTime) / 1000;
+  console.log('========================================');
+  console.log('TEST DURATION: ' + durationSec + ' seconds (' + (durationSec / 60).toFixed(2) + ' minutes)');
+  console.log('========================================');
+  
+  logScenarioMetrics(`Multi-Get Scenario (${MODE})`, data);
+  
+  const health = checkApplicationHealth();
+  if (health.status !== 200) {
+    console.warn(`Application health check failed after test: ${health.status}`);
+  }
+}
@@ -0,0 +1,159 @@
+/**
+ * Scenario 9: Deep Order History Paging
+ * 
+ * Setup seeds HISTORY_CUSTOMERS customers (default 5) with ORDERS_PER_CUSTOMER
+ * orders each (default 20000) through POST /orders/batch. Every iteration then
+ * pages one customer's history newest-first with GET /customers/{id}/orders,
+ * following the X-Next-Before / X-Next-Before-Id cursor for up to MAX_PAGES
+ * pages of PAGE_SIZE orders.
+ * 
+ * order_page_duration is tagged with the page depth bucket (1-10, 11-100, 101+),
+ * so flat latency across buckets shows keyset pagination at work.
+ * 
+ * Load Profile:
+ * - Warm-up: 1 min at 20 VUs
+ * - Main load: 8 min at 100 VUs
+ * - Cool-down: 1 min ramp down
+ * 
+ * Total duration: ~10 minutes (plus seeding)
+ */
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+import { BASE_URL, createCustomer, checkApplicationHealth, logScenarioMetrics, sleepWithJitter } from './utils.js';
+
+const HISTORY_CUSTOMERS = parseInt(__ENV.HISTORY_CUSTOMERS || '5', 10);
+const ORDERS_PER_CUSTOMER = parseInt(__ENV.ORDERS_PER_CUSTOMER || '20000', 10);
+const PAGE_SIZE = parseInt(__ENV.PAGE_SIZE || '50', 10);
+const MAX_PAGES = parseInt(__ENV.MAX_PAGES || '400', 10);
+const SEED_BATCH_SIZE = 5000;
+
+const orderPageDuration = new Trend('order_page_duration', true);
+
+export const options = {
+  // Seeding 100k orders takes longer than k6's default 60s setup timeout
+  setupTimeout: '10m',
+  
+  stages: [
+    // Warm-up phase: 1 minute at low load
+    { duration: '1m', target: 20 },
+    // Main load phase: 8 minutes
+    { duration: '8m', target: 100 },
+    // Cool-down phase: 1 minute ramp down
+    { duration: '1m', target: 0 },
+  ],
+  
+  // Deep pages must be as fast as shallow ones
+  thresholds: {
+    'order_page_duration{depth:1-10}': ['p(95)<200'],
+    'order_page_duration{depth:11-100}': ['p(95)<200'],
+    'order_page_duration{depth:101+}': ['p(95)<200'],
+    'http_req_failed': ['rate<0.01'],
+  },
+};
+
+function depthBucket(page) {
+  if (page <= 10) {
+    return '1-10';
+  }
+  return page <= 100 ? '11-100' : '101+';
+}
+
+function seedOrders(customerId) {
+  const params = { headers: { 'Content-Type': 'application/json' } };
+  for (let seeded = 0; seeded < ORDERS_PER_CUSTOMER; seeded += SEED_BATCH_SIZE) {
+    const size = Math.min(SEED_BATCH_SIZE, ORDERS_PER_CUSTOMER - seeded);
+    const batch = [];
+    for (let i = 0; i < size; i++) {
+      batch.push({ customerId: customerId, amount: (Math.random() * 500 + 1).toFixed(2) });
+    }
+    const response = http.post(`${BASE_URL}/orders/batch`, JSON.stringify(batch), params);
+    if (response.status !== 200) {
+      throw new Error(`Seeding orders failed: ${response.status} ${response.body}`);
+    }
+  }
+}
+
+export default function(data) {
+  const customerId = data.customerIds[Math.floor(Math.random() * data.customerIds.length)];
+  let query = `limit=${PAGE_SIZE}`;
+  
+  for (let page = 1; page <= MAX_PAGES; page++) {
+    const response = http.get(`${BASE_URL}/customers/${customerId}/orders?${query}`, {
+      tags: { name: 'GET /customers/{id}/orders' },
+    });
+    check(response, {
+      'GET /customers/{id}/orders status is 200': (r) => r.status === 200,
+    });
+    orderPageDuration.add(response.timings.duration, { depth: depthBucket(page) });
+    
+    const before = response.headers['X-Next-Before'];
+    if (response.status !== 200 || !before) {
+      break;
+    }
+    query = `limit=${PAGE_SIZE}&before=${encodeURIComponent(before)}&beforeId=${response.headers['X-Next-Before-Id']}`;
+  }
+  
+  sleepWithJitter(1);
+}
+
+export function setup() {
+  const startDateTime = new Date().toISOString();
+  const startEpoch = Date.now();
+  
+  console.log('========================================');
+  console.log('TEST START TIME');
+  console.log('========================================');
+  console.log('ISO Format: ' + startDateTime);
+  console.log('Epoch (ms): ' + startEpoch);
+  console.log('Running setup - checking application health...');
+  
+  const health = checkApplicationHealth();
+  
+  if (health.status !== 200) {
+    throw new Error(`Application health check failed: ${health.status}`);
+  }
+  
+  console.log(`Seeding ${HISTORY_CUSTOMERS} customers with ${ORDERS_PER_CUSTOMER} orders each...`);
+  const customerIds = [];
+  for (let i = 0; i < HISTORY_CUSTOMERS; i++) {
+    const customerId = JSON.parse(createCustomer().body).id;
+    seedOrders(customerId);
+    customerIds.push(customerId);
+  }
+  
+  return {
+    startTime: startEpoch,
+    startDateTime: startDateTime,
+    testName: 'Order-History',
+    customerIds: customerIds,
+  };
+}
+
+export function teardown(data) {
+  const endDateTime = new Date().toISOString();
+  const endEpoch = Date.now();
+  
+  console.log('========================================');
+  console.log('TEST END TIME');
+  console.log('========================================');
+  console.log('ISO Format: ' + endDateTime);
+  console.log('Epoch (ms): ' + endEpoch);
+  console.log('Running teardown - checking application health...');
+  
+  data.endTime = endEpoch;
+  data.endDateTime = endDateTime;
+  
+  const durationSec = (data.endTime - data.startTime) / 1000;
+  console.log('========================================');
+  console.log('TEST DURATION: ' + durationSec + ' seconds (' + (durationSec / 60).toFixed(2) + ' minutes)');
+  console.log('========================================');
+  
+  logScenarioMetrics('Order-History Scenario', data);
+  
+  const health = checkApplicationHealth();
+  if (health.status !== 200) {
+    console.warn(`Application health check failed after test: ${health.status}`);
+  }
+}
@@ -69,6 +69,24 @@ export function getCustomerById(customerId) {
   return response;
 }
 
+/**
+ * Fetch several customers with one multi-get request
+ * @param {Array<number>} customerIds - Customer IDs to fetch
+ * @returns {Object} HTTP response
+ */
+export function getCustomersByIds(customerIds) {
+  const response = http.get(`${BASE_URL}/customers?ids=${customerIds.join(',')}`, {
+    tags: { name: 'GET /customers?ids' },
+  });
+  
+  check(response, {
+    'GET /customers?ids status is 200': (r) => r.status === 200,
+    'GET /customers?ids response time < 500ms': (r) => r.timings.duration < 500,
+  });
+  
+  return response;
+}
+
 /**
  * Make a GET search request
  * @param {string} searchTerm - Search term
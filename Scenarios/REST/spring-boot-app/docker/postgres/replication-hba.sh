@@ -0,0 +1,5 @@
+#!/bin/bash
+# Lets the postgres-replica service take a base backup and stream WAL.
+# Runs once, when the primary's data directory is first initialised.
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
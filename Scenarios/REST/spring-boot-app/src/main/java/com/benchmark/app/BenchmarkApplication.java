@@ -29,6 +29,7 @@ public class BenchmarkApplication {
             if (clearDbOnStart) {
                 try (Connection conn = dataSource.getConnection()) {
                     conn.createStatement().execute("TRUNCATE TABLE orders CASCADE");
+                    conn.createStatement().execute("TRUNCATE TABLE customer_order_stats");
                     conn.createStatement().execute("TRUNCATE TABLE customers CASCADE");
                     System.out.println("✓ Database cleared on startup");
                 } catch (Exception e) {
@@ -0,0 +1,97 @@
+package com.benchmark.app.cache;
+
+import com.benchmark.app.dto.CustomerResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded in-JVM read-through cache of customers by id.
+ * Disabled by default; when {@code app.customer-cache.enabled=false} every call
+ * goes straight to the loader so the cache can be A/B tested under k6.
+ * Hit, miss and eviction counts are published as the {@code cache.*} meters
+ * with {@code cache=customers}.
+ */
+@Component
+public class CustomerCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerCache.class);
+    private static final String CACHE_NAME = "customers";
+
+    private final boolean enabled;
+    private final Cache<Long, CustomerResponse> cache;
+
+    public CustomerCache(MeterRegistry meterRegistry,
+                         @Value("${app.customer-cache.enabled:false}") boolean enabled,
+                         @Value("${app.customer-cache.maximum-size:10000}") long maximumSize,
+                         @Value("${app.customer-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+            logger.info("Customer cache enabled (maximum-size={}, ttl={}s)", maximumSize, ttlSeconds);
+        }
+    }
+
+    /**
+     * Returns the cached customer or loads it. A loader returning {@code null}
+     * (customer not found) is not cached.
+     */
+    public Optional<CustomerResponse> get(Long id, Function<Long, CustomerResponse> loader) {
+        if (!enabled) {
+            return Optional.ofNullable(loader.apply(id));
+        }
+        return Optional.ofNullable(cache.get(id, loader));
+    }
+
+    /**
+     * Returns the cached customer without loading it.
+     */
+    public Optional<CustomerResponse> getIfPresent(Long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    /**
+     * Populates the cache after a write so the first read is already a hit.
+     */
+    public void put(CustomerResponse customer) {
+        if (enabled && customer.id() != null) {
+            cache.put(customer.id(), customer);
+        }
+    }
+
+    /**
+     * Drops a customer after it was updated or deleted.
+     */
+    public void invalidate(Long id) {
+        if (enabled) {
+            cache.invalidate(id);
+        }
+    }
+
+    public void invalidateAll() {
+        if (enabled) {
+            cache.invalidateAll();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
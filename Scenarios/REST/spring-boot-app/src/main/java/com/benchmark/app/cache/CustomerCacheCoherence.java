@@ -0,0 +1,226 @@
+package com.benchmark.app.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps {@link CustomerCache} coherent when customers change.
+ *
+ * <ul>
+ *   <li>{@code local}: evicts from this JVM's cache after the writing transaction
+ *       commits. Enough for a single task, and the stand-in used with H2.</li>
+ *   <li>{@code postgres}: additionally sends {@code pg_notify} inside the writing
+ *       transaction, so PostgreSQL delivers the invalidation to every task only once
+ *       the change is committed. Each JVM consumes them on one dedicated, non-pooled
+ *       {@code LISTEN} connection.</li>
+ * </ul>
+ *
+ * Invalidation lag (write to eviction) is recorded as {@code customer.cache.invalidation.lag}.
+ * Remote lag is measured against the sender's wall clock, so it includes clock skew between tasks.
+ */
+@Component
+public class CustomerCacheCoherence implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerCacheCoherence.class);
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final long ERROR_LOG_THROTTLE_MS = 60_000L;
+    private static final long RECONNECT_DELAY_MS = 1_000L;
+
+    private final CustomerCache customerCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean postgresMode;
+    private final String channel;
+    private final int pollTimeoutMs;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Timer localLag;
+    private final Timer remoteLag;
+    private final Counter reconnects;
+    private final AtomicLong lastErrorLogMs = new AtomicLong(0L);
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public CustomerCacheCoherence(CustomerCache customerCache,
+                                  JdbcTemplate jdbcTemplate,
+                                  DataSourceProperties dataSourceProperties,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.customer-cache.coherence:local}") String mode,
+                                  @Value("${app.customer-cache.notify-channel:customer_cache_invalidation}") String channel,
+                                  @Value("${app.customer-cache.listen-poll-ms:500}") int pollTimeoutMs) {
+        this.customerCache = customerCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.postgresMode = "postgres".equals(mode.trim().toLowerCase(Locale.ROOT));
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid app.customer-cache.notify-channel: " + channel);
+        }
+        this.channel = channel;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.localLag = lagTimer(meterRegistry, "local");
+        this.remoteLag = lagTimer(meterRegistry, "remote");
+        this.reconnects = Counter.builder("customer.cache.listener.reconnects")
+                .description("LISTEN connection (re)establishments; each one flushes the local cache")
+                .register(meterRegistry);
+    }
+
+    private static Timer lagTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("customer.cache.invalidation.lag")
+                .description("Time from a customer write to its cache eviction")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Called from the entity lifecycle while the writing transaction is still open.
+     */
+    public void customerChanged(Long customerId) {
+        if (!customerCache.isEnabled() || customerId == null) {
+            return;
+        }
+        long changedAtMs = System.currentTimeMillis();
+        if (postgresMode) {
+            // Delivered by PostgreSQL on commit, dropped on rollback
+            String payload = customerId + ":" + changedAtMs + ":" + nodeId;
+            jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) ps -> {
+                ps.setString(1, channel);
+                ps.setString(2, payload);
+                return ps.execute();
+            });
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(customerId, changedAtMs, localLag);
+                }
+            });
+        } else {
+            evict(customerId, changedAtMs, localLag);
+        }
+    }
+
+    private void evict(Long customerId, long changedAtMs, Timer lag) {
+        customerCache.invalidate(customerId);
+        lag.record(Math.max(0L, System.currentTimeMillis() - changedAtMs), TimeUnit.MILLISECONDS);
+    }
+
+    private void listenLoop() {
+        while (running) {
+            String url = dataSourceProperties.determineUrl();
+            try (Connection connection = DriverManager.getConnection(url,
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                // Anything published while we were not listening is lost, start clean
+                customerCache.invalidateAll();
+                reconnects.increment();
+                logger.info("Listening for customer cache invalidations on channel {}", channel);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handleNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException ex) {
+                if (running) {
+                    throttleWarn("cache invalidation listener failed: " + ex.getMessage());
+                    sleepQuietly(RECONNECT_DELAY_MS);
+                }
+            }
+        }
+    }
+
+    private void handleNotification(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (parts.length != 3) {
+            throttleWarn("ignoring malformed cache invalidation: " + payload);
+            return;
+        }
+        if (nodeId.equals(parts[2])) {
+            // Already evicted locally after commit
+            return;
+        }
+        try {
+            evict(Long.parseLong(parts[0]), Long.parseLong(parts[1]), remoteLag);
+        } catch (NumberFormatException ex) {
+            throttleWarn("ignoring malformed cache invalidation: " + payload);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!postgresMode || !customerCache.isEnabled()) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "customer-cache-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = listenerThread;
+        if (thread != null) {
+            try {
+                thread.join(pollTimeoutMs * 2L);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            listenerThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private void throttleWarn(String message) {
+        long now = System.currentTimeMillis();
+        long last = lastErrorLogMs.get();
+        if (now - last >= ERROR_LOG_THROTTLE_MS && lastErrorLogMs.compareAndSet(last, now)) {
+            logger.warn(message);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.benchmark.app.cache;
+
+import com.benchmark.app.entity.Customer;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns customer updates and deletes into cache
+ * invalidations. Hibernate obtains it from the Spring context, so it can
+ * take constructor-injected collaborators.
+ */
+@Component
+public class CustomerCacheInvalidationListener {
+
+    private final CustomerCacheCoherence coherence;
+
+    public CustomerCacheInvalidationListener(CustomerCacheCoherence coherence) {
+        this.coherence = coherence;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void onChange(Customer customer) {
+        coherence.customerChanged(customer.getId());
+    }
+}
@@ -0,0 +1,136 @@
+package com.benchmark.app.cache;
+
+import com.benchmark.app.service.CustomerCheck;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Local set of customer ids known to exist, used by the {@code id-set} customer
+ * check for {@code POST /orders}.
+ *
+ * <p>Ids are kept as a bitmap split into lazily allocated 8 KB pages of 65,536 ids.
+ * Sequence-generated ids are dense, so a million customers cost about 128 KB instead
+ * of tens of megabytes for a boxed {@code Set<Long>}. Every operation is a single
+ * CAS on one word.
+ *
+ * <p>The set can only go stale in the positive direction: a customer deleted by
+ * another task stays "known". The {@code fk_customer} constraint still rejects
+ * those inserts, and the caller then removes the id.
+ */
+@Component
+public class KnownCustomerIds {
+
+    private static final Logger logger = LoggerFactory.getLogger(KnownCustomerIds.class);
+    private static final int PAGE_BITS = 16;
+    private static final int WORDS_PER_PAGE = (1 << PAGE_BITS) / Long.SIZE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final boolean preload;
+    private final ConcurrentMap<Long, AtomicLongArray> pages = new ConcurrentHashMap<>();
+    private final AtomicLong size = new AtomicLong();
+
+    public KnownCustomerIds(JdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.orders.customer-check:exists}") String customerCheck,
+                            @Value("${app.orders.id-set.preload:true}") boolean preload) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = CustomerCheck.fromProperty(customerCheck) == CustomerCheck.ID_SET;
+        this.preload = preload;
+        if (enabled) {
+            Gauge.builder("orders.customer.idset.size", size, AtomicLong::get)
+                    .description("Customer ids in the local id-set used to validate orders")
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean contains(long id) {
+        if (id < 0) {
+            return false;
+        }
+        AtomicLongArray page = pages.get(id >>> PAGE_BITS);
+        return page != null && (page.get(wordIndex(id)) & bit(id)) != 0;
+    }
+
+    public void add(long id) {
+        if (!enabled || id < 0) {
+            return;
+        }
+        AtomicLongArray page = pages.computeIfAbsent(id >>> PAGE_BITS, key -> new AtomicLongArray(WORDS_PER_PAGE));
+        int index = wordIndex(id);
+        long mask = bit(id);
+        long word;
+        do {
+            word = page.get(index);
+            if ((word & mask) != 0) {
+                return;
+            }
+        } while (!page.compareAndSet(index, word, word | mask));
+        size.incrementAndGet();
+    }
+
+    public void remove(long id) {
+        if (!enabled || id < 0) {
+            return;
+        }
+        AtomicLongArray page = pages.get(id >>> PAGE_BITS);
+        if (page == null) {
+            return;
+        }
+        int index = wordIndex(id);
+        long mask = bit(id);
+        long word;
+        do {
+            word = page.get(index);
+            if ((word & mask) == 0) {
+                return;
+            }
+        } while (!page.compareAndSet(index, word, word & ~mask));
+        size.decrementAndGet();
+    }
+
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * Loads every existing id once the application is up (after the optional
+     * CLEAR_DB_ON_START truncate). Orders arriving earlier fall back to lookups.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (!enabled || !preload) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        jdbcTemplate.query("SELECT id FROM customers", rs -> {
+            add(rs.getLong(1));
+        });
+        logger.info("Loaded {} customer ids into the order id-set in {} ms",
+                size.get(), System.currentTimeMillis() - started);
+    }
+
+    private static int wordIndex(long id) {
+        return (int) ((id & ((1L << PAGE_BITS) - 1)) >>> 6);
+    }
+
+    private static long bit(long id) {
+        return 1L << id;
+    }
+}
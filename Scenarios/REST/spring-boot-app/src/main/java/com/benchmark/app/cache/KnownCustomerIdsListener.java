@@ -0,0 +1,30 @@
+package com.benchmark.app.cache;
+
+import com.benchmark.app.entity.Customer;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that keeps {@link KnownCustomerIds} in step with
+ * customers created or deleted through this JVM.
+ */
+@Component
+public class KnownCustomerIdsListener {
+
+    private final KnownCustomerIds knownCustomerIds;
+
+    public KnownCustomerIdsListener(KnownCustomerIds knownCustomerIds) {
+        this.knownCustomerIds = knownCustomerIds;
+    }
+
+    @PostPersist
+    void onPersist(Customer customer) {
+        knownCustomerIds.add(customer.getId());
+    }
+
+    @PostRemove
+    void onRemove(Customer customer) {
+        knownCustomerIds.remove(customer.getId());
+    }
+}
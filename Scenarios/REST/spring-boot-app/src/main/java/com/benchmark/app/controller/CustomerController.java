@@ -1,64 +1,269 @@
 package com.benchmark.app.controller;
 
+import com.benchmark.app.cache.CustomerCache;
+import com.benchmark.app.dto.CustomerLookupResponse;
+import com.benchmark.app.dto.CustomerLookupResult;
+import com.benchmark.app.dto.CustomerOrderSummary;
 import com.benchmark.app.dto.CustomerRequest;
 import com.benchmark.app.dto.CustomerResponse;
+import com.benchmark.app.dto.OrderResponse;
 import com.benchmark.app.entity.Customer;
+import com.benchmark.app.repository.CustomerJdbcRepository;
+import com.benchmark.app.repository.CustomerOrderStatsRepository;
 import com.benchmark.app.repository.CustomerRepository;
+import com.benchmark.app.repository.OrderRepository;
+import com.benchmark.app.search.CustomerSearchService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+// ResponseEntity<?> hides the body types from AOT inference for native images
+@RegisterReflectionForBinding({CustomerLookupResponse.class, CustomerLookupResult.class})
 @RestController
 @RequestMapping("/customers")
 public class CustomerController {
 
+    private static final String NEXT_AFTER_ID_HEADER = "X-Next-After-Id";
+    private static final String NEXT_BEFORE_HEADER = "X-Next-Before";
+    private static final String NEXT_BEFORE_ID_HEADER = "X-Next-Before-Id";
+
     private final CustomerRepository customerRepository;
+    private final CustomerJdbcRepository customerJdbcRepository;
+    private final CustomerOrderStatsRepository customerOrderStatsRepository;
+    private final OrderRepository orderRepository;
+    private final CustomerSearchService customerSearchService;
+    private final CustomerCache customerCache;
+    private final ObjectWriter ndjsonWriter;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxLookupIds;
 
-    public CustomerController(CustomerRepository customerRepository) {
+    public CustomerController(CustomerRepository customerRepository,
+                              CustomerJdbcRepository customerJdbcRepository,
+                              CustomerOrderStatsRepository customerOrderStatsRepository,
+                              OrderRepository orderRepository,
+                              CustomerSearchService customerSearchService,
+                              CustomerCache customerCache,
+                              ObjectMapper objectMapper,
+                              @Value("${app.customers.default-page-size:100}") int defaultPageSize,
+                              @Value("${app.customers.max-page-size:1000}") int maxPageSize,
+                              @Value("${app.customers.max-lookup-ids:100}") int maxLookupIds) {
         this.customerRepository = customerRepository;
+        this.customerJdbcRepository = customerJdbcRepository;
+        this.customerOrderStatsRepository = customerOrderStatsRepository;
+        this.orderRepository = orderRepository;
+        this.customerSearchService = customerSearchService;
+        this.customerCache = customerCache;
+        this.ndjsonWriter = objectMapper.writerFor(CustomerResponse.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxLookupIds = maxLookupIds;
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<CustomerResponse> getCustomer(@PathVariable Long id) {
-        return customerRepository.findById(id)
-            .map(CustomerResponse::fromEntity)
+        // Cache fills read the primary, so a lagging replica can't pin a stale row for the TTL
+        Function<Long, CustomerResponse> loader = customerCache.isEnabled()
+            ? key -> customerJdbcRepository.findByIdOnPrimary(key).orElse(null)
+            : key -> customerRepository.findById(key).map(CustomerResponse::fromEntity).orElse(null);
+        return customerCache.get(id, loader)
             .map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * A customer's orders, newest first, with keyset pagination on
+     * {@code (created_at, id)}: pass the {@code X-Next-Before} and
+     * {@code X-Next-Before-Id} headers of a full page as {@code before} and
+     * {@code beforeId} to get the next one. {@code before} alone returns orders
+     * created strictly before that instant. Page size follows the same defaults
+     * and cap as the customer listing.
+     */
+    @GetMapping("/{id}/orders")
+    public ResponseEntity<List<OrderResponse>> getOrders(
+        @PathVariable Long id,
+        @RequestParam(required = false) Instant before,
+        @RequestParam(required = false) Long beforeId,
+        @RequestParam(required = false) Integer limit) {
+
+        int pageSize = resolvePageSize(limit);
+        List<OrderResponse> orders = before == null
+            ? orderRepository.findLatestByCustomerId(id, Limit.of(pageSize))
+            : orderRepository.findByCustomerIdBefore(id, before,
+                beforeId != null ? beforeId : Long.MIN_VALUE, Limit.of(pageSize));
+
+        if (orders.isEmpty() && !customerRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (orders.size() == pageSize) {
+            OrderResponse last = orders.get(orders.size() - 1);
+            response.header(NEXT_BEFORE_HEADER, last.createdAt().toString());
+            response.header(NEXT_BEFORE_ID_HEADER, String.valueOf(last.id()));
+        }
+        return response.body(orders);
+    }
+
+    /**
+     * Order count, total amount and last order time, read from the
+     * trigger-maintained {@code customer_order_stats} row: one primary key lookup
+     * however many orders the customer has. The customer is only looked up when
+     * there is no row, to tell "no orders yet" from 404.
+     */
+    @GetMapping("/{id}/orders/summary")
+    public ResponseEntity<CustomerOrderSummary> getOrderSummary(@PathVariable Long id) {
+        Optional<CustomerOrderSummary> summary = customerOrderStatsRepository.findByCustomerId(id);
+        if (summary.isEmpty() && customerRepository.existsById(id)) {
+            summary = Optional.of(CustomerOrderSummary.empty(id));
+        }
+        return summary
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Multi-get for clients that would otherwise call {@code GET /customers/{id}}
+     * once per id. Cached customers are served from the cache and the rest are
+     * loaded with one {@code id = ANY(?)} query. Results follow the request order,
+     * with an explicit entry for every id that was not found.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getCustomers(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > maxLookupIds) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body("Lookup must contain between 1 and " + maxLookupIds + " ids");
+        }
+
+        Map<Long, CustomerResponse> customers = new HashMap<>();
+        Set<Long> toLoad = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null && !customers.containsKey(id)) {
+                customerCache.getIfPresent(id).ifPresentOrElse(
+                    customer -> customers.put(id, customer),
+                    () -> toLoad.add(id));
+            }
+        }
+        List<CustomerResponse> loaded = customerCache.isEnabled()
+            ? customerJdbcRepository.findAllByIdOnPrimary(toLoad)
+            : customerJdbcRepository.findAllById(toLoad);
+        for (CustomerResponse customer : loaded) {
+            customers.put(customer.id(), customer);
+            customerCache.put(customer);
+        }
+
+        List<CustomerLookupResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            results.add(CustomerLookupResult.of(id, id != null ? customers.get(id) : null));
+        }
+        return ResponseEntity.ok(CustomerLookupResponse.of(results));
+    }
+
     @GetMapping
     public ResponseEntity<List<CustomerResponse>> searchCustomers(
-        @RequestParam(required = false) String search) {
-        
+        @RequestParam(required = false) String search,
+        @RequestParam(defaultValue = "0") long afterId,
+        @RequestParam(required = false) Integer limit) {
+
         if (search == null || search.trim().isEmpty()) {
-            List<CustomerResponse> customers = customerRepository.findAll()
+            // Keyset pagination instead of findAll(): bounded page, constant cost per page
+            int pageSize = resolvePageSize(limit);
+            List<CustomerResponse> customers = customerRepository
+                .findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize))
                 .stream()
                 .map(CustomerResponse::fromEntity)
                 .collect(Collectors.toList());
-            return ResponseEntity.ok(customers);
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (customers.size() == pageSize) {
+                response.header(NEXT_AFTER_ID_HEADER,
+                    String.valueOf(customers.get(customers.size() - 1).id()));
+            }
+            return response.body(customers);
         }
 
-        List<CustomerResponse> customers = customerRepository.searchCustomers(search)
+        List<CustomerResponse> customers = customerSearchService.search(search, limit)
             .stream()
             .map(CustomerResponse::fromEntity)
             .collect(Collectors.toList());
-        
+
         return ResponseEntity.ok(customers);
     }
 
+    /**
+     * Opt-in NDJSON export of every customer after {@code afterId}. Rows are written
+     * to the response as they come off the JDBC cursor, so heap use does not grow
+     * with the size of the table.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamCustomers(
+        @RequestParam(defaultValue = "0") long afterId) {
+
+        // One generator for the whole export: rows are encoded into its recycled buffer
+        // instead of a new byte[] per row
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = ndjsonWriter.createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                customerJdbcRepository.streamAfter(afterId, customer -> {
+                    try {
+                        ndjsonWriter.writeValue(generator, customer);
+                        generator.writeRaw('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
     @PostMapping
     public ResponseEntity<CustomerResponse> createCustomer(
         @Valid @RequestBody CustomerRequest request) {
-        
+
         Customer customer = request.toEntity();
         Customer saved = customerRepository.save(customer);
-        
+        CustomerResponse response = CustomerResponse.fromEntity(saved);
+        customerCache.put(response);
+
         return ResponseEntity
             .status(HttpStatus.CREATED)
-            .body(CustomerResponse.fromEntity(saved));
+            .body(response);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(limit, maxPageSize);
     }
 }
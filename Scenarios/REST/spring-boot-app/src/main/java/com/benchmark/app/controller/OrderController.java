@@ -1,41 +1,158 @@
 package com.benchmark.app.controller;
 
+import com.benchmark.app.cache.KnownCustomerIds;
+import com.benchmark.app.dto.OrderAcceptedResponse;
+import com.benchmark.app.dto.OrderBatchResponse;
 import com.benchmark.app.dto.OrderRequest;
 import com.benchmark.app.dto.OrderResponse;
 import com.benchmark.app.entity.Order;
 import com.benchmark.app.repository.CustomerRepository;
 import com.benchmark.app.repository.OrderRepository;
+import com.benchmark.app.service.CustomerCheck;
+import com.benchmark.app.service.OrderBatchService;
+import com.benchmark.app.service.OrderWriteBehindService;
 import jakarta.validation.Valid;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+// ResponseEntity<?> hides the body types from AOT inference for native images
+@RegisterReflectionForBinding({OrderResponse.class, OrderAcceptedResponse.class, OrderBatchResponse.class})
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
 
+    // Declared in V2__create_orders_table.sql
+    private static final String CUSTOMER_FOREIGN_KEY = "fk_customer";
+
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
+    private final OrderBatchService orderBatchService;
+    private final OrderWriteBehindService orderWriteBehindService;
+    private final KnownCustomerIds knownCustomerIds;
+    private final CustomerCheck customerCheck;
+    private final int maxBatchSize;
 
-    public OrderController(OrderRepository orderRepository, CustomerRepository customerRepository) {
+    public OrderController(OrderRepository orderRepository,
+                           CustomerRepository customerRepository,
+                           OrderBatchService orderBatchService,
+                           OrderWriteBehindService orderWriteBehindService,
+                           KnownCustomerIds knownCustomerIds,
+                           @Value("${app.orders.customer-check:exists}") String customerCheck,
+                           @Value("${app.orders.batch.max-size:5000}") int maxBatchSize) {
         this.orderRepository = orderRepository;
         this.customerRepository = customerRepository;
+        this.orderBatchService = orderBatchService;
+        this.orderWriteBehindService = orderWriteBehindService;
+        this.knownCustomerIds = knownCustomerIds;
+        this.customerCheck = CustomerCheck.fromProperty(customerCheck);
+        this.maxBatchSize = maxBatchSize;
     }
 
     @PostMapping
     public ResponseEntity<?> createOrder(@Valid @RequestBody OrderRequest request) {
-        // Validate that customer exists
-        if (!customerRepository.existsById(request.getCustomerId())) {
+        if (orderWriteBehindService.isEnabled()) {
+            // Write-behind: acknowledge now, the customer is checked when the group is flushed
+            Optional<OrderAcceptedResponse> accepted = orderWriteBehindService.submit(request);
+            if (accepted.isEmpty()) {
+                return ResponseEntity
+                    .status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body("Order queue is full, retry later");
+            }
             return ResponseEntity
-                .status(HttpStatus.BAD_REQUEST)
-                .body("Customer with ID " + request.getCustomerId() + " does not exist");
+                .status(HttpStatus.ACCEPTED)
+                .body(accepted.get());
+        }
+
+        Long customerId = request.getCustomerId();
+        if (customerCheck == CustomerCheck.EXISTS) {
+            // Validate that customer exists
+            if (!customerRepository.existsById(customerId)) {
+                return customerNotFound(customerId);
+            }
+
+            Order order = request.toEntity();
+            Order saved = orderRepository.save(order);
+
+            return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(OrderResponse.fromEntity(saved));
+        }
+
+        if (customerCheck == CustomerCheck.ID_SET && !knownCustomerIds.contains(customerId)) {
+            if (!customerRepository.existsById(customerId)) {
+                return customerNotFound(customerId);
+            }
+            knownCustomerIds.add(customerId);
+        }
+
+        Order saved;
+        try {
+            // Flush inside the save transaction so the fk_customer violation surfaces here
+            saved = orderRepository.saveAndFlush(request.toEntity());
+        } catch (DataIntegrityViolationException ex) {
+            if (!isCustomerForeignKeyViolation(ex)) {
+                throw ex;
+            }
+            knownCustomerIds.remove(customerId);
+            return customerNotFound(customerId);
         }
 
-        Order order = request.toEntity();
-        Order saved = orderRepository.save(order);
-        
         return ResponseEntity
             .status(HttpStatus.CREATED)
             .body(OrderResponse.fromEntity(saved));
     }
+
+    /**
+     * Bulk ingestion: one customer lookup for the whole batch and multi-row
+     * inserts, with a per-item result for every order in the request.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createOrders(@RequestBody List<OrderRequest> requests) {
+        if (requests.isEmpty() || requests.size() > maxBatchSize) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body("Batch must contain between 1 and " + maxBatchSize + " orders");
+        }
+
+        OrderBatchResponse response = orderBatchService.createOrders(requests);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * True only when the database names {@code fk_customer} (H2 upper-cases it),
+     * so other integrity errors are not reported as an unknown customer.
+     */
+    private static boolean isCustomerForeignKeyViolation(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return CUSTOMER_FOREIGN_KEY.equals(normalizeConstraintName(violation.getConstraintName()));
+            }
+        }
+        return false;
+    }
+
+    // Dialects report the name as declared or upper-cased, quoted or schema-qualified
+    private static String normalizeConstraintName(String constraintName) {
+        if (constraintName == null) {
+            return null;
+        }
+        String name = constraintName.replace("\"", "").trim();
+        return name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static ResponseEntity<String> customerNotFound(Long customerId) {
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body("Customer with ID " + customerId + " does not exist");
+    }
 }
@@ -0,0 +1,58 @@
+package com.benchmark.app.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * Source of read-only connections. Hands out replica connections while
+ * {@link ReplicaLagMonitor} says the replica is usable, and primary connections
+ * otherwise, including when the replica refuses a connection.
+ */
+class ReplicaFallbackDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor monitor;
+
+    ReplicaFallbackDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(source -> source.getConnection(username, password));
+    }
+
+    private Connection getConnection(ConnectionSupplier supplier) throws SQLException {
+        if (monitor.isUsable()) {
+            try {
+                Connection connection = supplier.get(replica);
+                monitor.recordRead(true);
+                return connection;
+            } catch (SQLFeatureNotSupportedException ex) {
+                // Hikari has no per-call credentials; that says nothing about the replica's health
+                throw ex;
+            } catch (SQLException ex) {
+                monitor.markUnavailable(ex.getMessage());
+            }
+        }
+        monitor.recordRead(false);
+        return supplier.get(primary);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get(DataSource source) throws SQLException;
+    }
+}
@@ -0,0 +1,169 @@
+package com.benchmark.app.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls the read replica and decides whether reads may go to it. The replica is
+ * usable while it answers and its replay lag is at most {@code max-lag-ms}.
+ *
+ * <p>On PostgreSQL, lag is the age of the last replayed transaction. It counts as
+ * zero once everything received has been replayed, so an idle primary does not
+ * look like a lagging replica. Other databases (the H2 stand-in) only get a
+ * liveness check.
+ */
+public class ReplicaLagMonitor implements MeterBinder, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final long ERROR_LOG_THROTTLE_MS = 60_000L;
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private static final String PG_LAG_SQL = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final DataSource replica;
+    private final boolean postgres;
+    private final long maxLagMs;
+    private final long intervalMs;
+    private final AtomicLong lagMs = new AtomicLong(-1);
+    private final AtomicLong lastErrorLogMs = new AtomicLong(0L);
+
+    private volatile boolean usable;
+    private volatile Counter replicaReads;
+    private volatile Counter primaryReads;
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource replica, boolean postgres, long maxLagMs, long intervalMs) {
+        this.replica = replica;
+        this.postgres = postgres;
+        this.maxLagMs = maxLagMs;
+        this.intervalMs = intervalMs;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    /**
+     * Takes the replica out of rotation until the next successful check, e.g.
+     * after it refused a connection.
+     */
+    public void markUnavailable(String reason) {
+        if (usable) {
+            usable = false;
+            throttleWarn("Read replica unavailable, reading from primary: " + reason);
+        }
+    }
+
+    // Counters are owned here so the DataSource beans need no MeterRegistry
+    void recordRead(boolean fromReplica) {
+        Counter counter = fromReplica ? replicaReads : primaryReads;
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.replica.lag", lagMs, ReplicaLagMonitor::sampled)
+                .description("Replay lag of the read replica")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("db.replica.available", this, monitor -> monitor.usable ? 1 : 0)
+                .description("1 while reads are routed to the replica, 0 while they fall back to the primary")
+                .register(registry);
+        replicaReads = readCounter(registry, "replica");
+        primaryReads = readCounter(registry, "primary");
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String target) {
+        return Counter.builder("db.routing.reads")
+                .description("Read-only transactions by the pool that served them")
+                .tag("target", target)
+                .register(registry);
+    }
+
+    // -1 until the first successful check
+    private static double sampled(AtomicLong value) {
+        long current = value.get();
+        return current < 0 ? Double.NaN : current;
+    }
+
+    void check() {
+        try (Connection conn = replica.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            long lag = 0;
+            if (postgres) {
+                try (ResultSet rs = stmt.executeQuery(PG_LAG_SQL)) {
+                    lag = rs.next() ? rs.getLong(1) : 0;
+                }
+            } else {
+                stmt.execute("SELECT 1");
+            }
+            lagMs.set(lag);
+            boolean wasUsable = usable;
+            usable = lag <= maxLagMs;
+            if (!usable) {
+                throttleWarn("Read replica is " + lag + " ms behind (max " + maxLagMs + " ms), reading from primary");
+            } else if (!wasUsable) {
+                logger.info("Read replica in rotation (lag {} ms)", lag);
+            }
+        } catch (SQLException | RuntimeException ex) {
+            lagMs.set(-1);
+            markUnavailable(ex.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-replica-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ScheduledExecutorService executor = scheduler;
+        if (executor != null) {
+            executor.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void throttleWarn(String message) {
+        long now = System.currentTimeMillis();
+        long last = lastErrorLogMs.get();
+        if (now - last >= ERROR_LOG_THROTTLE_MS && lastErrorLogMs.compareAndSet(last, now)) {
+            logger.warn(message);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.benchmark.app.dto;
+
+import java.util.List;
+
+public record CustomerLookupResponse(int found, int missing, List<CustomerLookupResult> results) {
+
+    public static CustomerLookupResponse of(List<CustomerLookupResult> results) {
+        int found = 0;
+        for (CustomerLookupResult result : results) {
+            if (result.found()) {
+                found++;
+            }
+        }
+        return new CustomerLookupResponse(found, results.size() - found, results);
+    }
+}
@@ -0,0 +1,12 @@
+package com.benchmark.app.dto;
+
+/**
+ * One entry of a {@code GET /customers?ids=...} lookup, in request order.
+ * {@code customer} is null when {@code found} is false.
+ */
+public record CustomerLookupResult(Long id, boolean found, CustomerResponse customer) {
+
+    public static CustomerLookupResult of(Long id, CustomerResponse customer) {
+        return new CustomerLookupResult(id, customer != null, customer);
+    }
+}
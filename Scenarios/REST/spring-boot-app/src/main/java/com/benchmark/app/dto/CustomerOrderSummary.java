@@ -0,0 +1,15 @@
+package com.benchmark.app.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Order aggregates of one customer; {@code lastOrderAt} is null when the
+ * customer has no orders yet.
+ */
+public record CustomerOrderSummary(Long customerId, long orderCount, BigDecimal totalAmount, Instant lastOrderAt) {
+
+    public static CustomerOrderSummary empty(Long customerId) {
+        return new CustomerOrderSummary(customerId, 0, BigDecimal.ZERO, null);
+    }
+}
@@ -1,28 +1,16 @@
 package com.benchmark.app.dto;
 
 import com.benchmark.app.entity.Customer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.time.Instant;
 
-public class CustomerResponse {
-
-    private Long id;
-    private String firstName;
-    private String lastName;
-    private String email;
-    private Instant createdAt;
-
-    // Constructors
-    public CustomerResponse() {
-    }
-
-    public CustomerResponse(Long id, String firstName, String lastName, String email, Instant createdAt) {
-        this.id = id;
-        this.firstName = firstName;
-        this.lastName = lastName;
-        this.email = email;
-        this.createdAt = createdAt;
-    }
+/**
+ * Immutable, so one instance can be shared by the customer cache and
+ * concurrent responses. Written by {@link CustomerResponseSerializer}.
+ */
+@JsonSerialize(using = CustomerResponseSerializer.class)
+public record CustomerResponse(Long id, String firstName, String lastName, String email, Instant createdAt) {
 
     // Create from Entity
     public static CustomerResponse fromEntity(Customer customer) {
@@ -34,45 +22,4 @@ public class CustomerResponse {
             customer.getCreatedAt()
         );
     }
-
-    // Getters and Setters
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
-    public String getFirstName() {
-        return firstName;
-    }
-
-    public void setFirstName(String firstName) {
-        this.firstName = firstName;
-    }
-
-    public String getLastName() {
-        return lastName;
-    }
-
-    public void setLastName(String lastName) {
-        this.lastName = lastName;
-    }
-
-    public String getEmail() {
-        return email;
-    }
-
-    public void setEmail(String email) {
-        this.email = email;
-    }
-
-    public Instant getCreatedAt() {
-        return createdAt;
-    }
-
-    public void setCreatedAt(Instant createdAt) {
-        this.createdAt = createdAt;
-    }
 }
@@ -0,0 +1,44 @@
+package com.benchmark.app.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Reflection-free writer for {@link CustomerResponse}. Field names are encoded
+ * once and copied straight into the generator's recycled buffer, instead of
+ * going through bean introspection and per-property writers. The output is
+ * the same as the default bean serializer with Spring Boot's ObjectMapper
+ * (nulls included, ISO-8601 instants).
+ */
+public class CustomerResponseSerializer extends StdSerializer<CustomerResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+
+    public CustomerResponseSerializer() {
+        super(CustomerResponse.class);
+    }
+
+    @Override
+    public void serialize(CustomerResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(ID);
+        JsonWriters.writeNumber(gen, value.id());
+        gen.writeFieldName(FIRST_NAME);
+        gen.writeString(value.firstName());
+        gen.writeFieldName(LAST_NAME);
+        gen.writeString(value.lastName());
+        gen.writeFieldName(EMAIL);
+        gen.writeString(value.email());
+        gen.writeFieldName(CREATED_AT);
+        JsonWriters.writeInstant(gen, value.createdAt());
+        gen.writeEndObject();
+    }
+}
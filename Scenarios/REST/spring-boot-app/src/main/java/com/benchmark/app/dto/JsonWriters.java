@@ -0,0 +1,32 @@
+package com.benchmark.app.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Null-safe value writes shared by the hand-written response serializers.
+ */
+final class JsonWriters {
+
+    private JsonWriters() {
+    }
+
+    static void writeNumber(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    // Same ISO-8601 form as jackson-datatype-jsr310 with WRITE_DATES_AS_TIMESTAMPS off
+    static void writeInstant(JsonGenerator gen, Instant value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value.toString());
+        }
+    }
+}
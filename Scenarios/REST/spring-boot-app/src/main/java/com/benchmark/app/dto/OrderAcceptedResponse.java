@@ -0,0 +1,57 @@
+package com.benchmark.app.dto;
+
+import java.math.BigDecimal;
+
+public class OrderAcceptedResponse {
+
+    public static final String ACCEPTED = "ACCEPTED";
+
+    private String acceptedId;
+    private String status;
+    private Long customerId;
+    private BigDecimal amount;
+
+    // Constructors
+    public OrderAcceptedResponse() {
+    }
+
+    public OrderAcceptedResponse(String acceptedId, Long customerId, BigDecimal amount) {
+        this.acceptedId = acceptedId;
+        this.status = ACCEPTED;
+        this.customerId = customerId;
+        this.amount = amount;
+    }
+
+    // Getters and Setters
+    public String getAcceptedId() {
+        return acceptedId;
+    }
+
+    public void setAcceptedId(String acceptedId) {
+        this.acceptedId = acceptedId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,15 @@
+package com.benchmark.app.dto;
+
+public record OrderBatchItemResult(int index, String status, Long orderId, String error) {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    public static OrderBatchItemResult created(int index, Long orderId) {
+        return new OrderBatchItemResult(index, CREATED, orderId, null);
+    }
+
+    public static OrderBatchItemResult rejected(int index, String error) {
+        return new OrderBatchItemResult(index, REJECTED, null, error);
+    }
+}
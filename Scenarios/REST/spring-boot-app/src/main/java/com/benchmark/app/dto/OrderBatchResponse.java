@@ -0,0 +1,16 @@
+package com.benchmark.app.dto;
+
+import java.util.List;
+
+public record OrderBatchResponse(int created, int rejected, List<OrderBatchItemResult> results) {
+
+    public static OrderBatchResponse of(List<OrderBatchItemResult> results) {
+        int created = 0;
+        for (OrderBatchItemResult result : results) {
+            if (OrderBatchItemResult.CREATED.equals(result.status())) {
+                created++;
+            }
+        }
+        return new OrderBatchResponse(created, results.size() - created, results);
+    }
+}
@@ -1,6 +1,7 @@
 package com.benchmark.app.dto;
 
 import com.benchmark.app.entity.Order;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
@@ -13,6 +14,7 @@ public class OrderRequest {
 
     @NotNull(message = "Amount is required")
     @Positive(message = "Amount must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Amount must have at most 8 integer digits and 2 decimal places")
     private BigDecimal amount;
 
     // Constructors
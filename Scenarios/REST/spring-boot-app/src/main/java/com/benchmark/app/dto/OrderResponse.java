@@ -1,27 +1,16 @@
 package com.benchmark.app.dto;
 
 import com.benchmark.app.entity.Order;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 
-public class OrderResponse {
-
-    private Long id;
-    private Long customerId;
-    private BigDecimal amount;
-    private Instant createdAt;
-
-    // Constructors
-    public OrderResponse() {
-    }
-
-    public OrderResponse(Long id, Long customerId, BigDecimal amount, Instant createdAt) {
-        this.id = id;
-        this.customerId = customerId;
-        this.amount = amount;
-        this.createdAt = createdAt;
-    }
+/**
+ * Written by {@link OrderResponseSerializer}.
+ */
+@JsonSerialize(using = OrderResponseSerializer.class)
+public record OrderResponse(Long id, Long customerId, BigDecimal amount, Instant createdAt) {
 
     // Create from Entity
     public static OrderResponse fromEntity(Order order) {
@@ -32,37 +21,4 @@ public class OrderResponse {
             order.getCreatedAt()
         );
     }
-
-    // Getters and Setters
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
-    public Long getCustomerId() {
-        return customerId;
-    }
-
-    public void setCustomerId(Long customerId) {
-        this.customerId = customerId;
-    }
-
-    public BigDecimal getAmount() {
-        return amount;
-    }
-
-    public void setAmount(BigDecimal amount) {
-        this.amount = amount;
-    }
-
-    public Instant getCreatedAt() {
-        return createdAt;
-    }
-
-    public void setCreatedAt(Instant createdAt) {
-        this.createdAt = createdAt;
-    }
 }
@@ -0,0 +1,37 @@
+package com.benchmark.app.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Reflection-free writer for {@link OrderResponse}, see {@link CustomerResponseSerializer}.
+ */
+public class OrderResponseSerializer extends StdSerializer<OrderResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString CUSTOMER_ID = new SerializedString("customerId");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+
+    public OrderResponseSerializer() {
+        super(OrderResponse.class);
+    }
+
+    @Override
+    public void serialize(OrderResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(ID);
+        JsonWriters.writeNumber(gen, value.id());
+        gen.writeFieldName(CUSTOMER_ID);
+        JsonWriters.writeNumber(gen, value.customerId());
+        gen.writeFieldName(AMOUNT);
+        gen.writeNumber(value.amount());
+        gen.writeFieldName(CREATED_AT);
+        JsonWriters.writeInstant(gen, value.createdAt());
+        gen.writeEndObject();
+    }
+}
@@ -1,5 +1,7 @@
 package com.benchmark.app.entity;
 
+import com.benchmark.app.cache.CustomerCacheInvalidationListener;
+import com.benchmark.app.cache.KnownCustomerIdsListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -8,13 +10,20 @@ import jakarta.validation.constraints.Size;
 import java.time.Instant;
 
 @Entity
+@EntityListeners({CustomerCacheInvalidationListener.class, KnownCustomerIdsListener.class})
 @Table(name = "customers", indexes = {
     @Index(name = "idx_customer_email", columnList = "email")
 })
 public class Customer {
 
+    /**
+     * Pooled-lo sequence ids: one nextval reserves a block of ids, so INSERTs can be
+     * deferred and batched. The effective block size is the sequence increment
+     * (see V4__pooled_id_sequences.sql); allocationSize is adjusted to it at startup.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_id_seq")
+    @SequenceGenerator(name = "customers_id_seq", sequenceName = "customers_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "First name is required")
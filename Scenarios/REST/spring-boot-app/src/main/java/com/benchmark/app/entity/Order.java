@@ -11,8 +11,14 @@ import java.time.Instant;
 @Table(name = "orders")
 public class Order {
 
+    /**
+     * Pooled-lo sequence ids: one nextval reserves a block of ids, so INSERTs can be
+     * deferred and batched. The effective block size is the sequence increment
+     * (see V4__pooled_id_sequences.sql); allocationSize is adjusted to it at startup.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_id_seq")
+    @SequenceGenerator(name = "orders_id_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Customer ID is required")
@@ -0,0 +1,195 @@
+package com.benchmark.app.monitoring;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a rolling JFR recording for the lifetime of the application, bounded by
+ * {@code max-age-minutes} and {@code max-size-mb}, so the last minutes of any
+ * benchmark run can be dumped after the fact without restarting the JVM.
+ *
+ * <p>Uses the JDK's {@code default} settings unless told otherwise (execution
+ * samples every 20 ms, throttled allocation samples), which is designed to stay
+ * around 1% overhead. The environment, system property, JVM information and
+ * system process events are always disabled so dumps carry no credentials. Dumps go to
+ * {@code dump-dir}; only the newest {@code dump-retention} files are kept.
+ */
+@Component
+public class ContinuousFlightRecorder implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContinuousFlightRecorder.class);
+    private static final String RECORDING_NAME = "benchmark-continuous";
+    /**
+     * Events of the stock settings that copy the process environment, system
+     * properties, JVM arguments and the command lines of all running processes
+     * into the recording, where credentials such as
+     * {@code SPRING_DATASOURCE_PASSWORD} would end up in every dump.
+     */
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation",
+            "jdk.SystemProcess");
+    private static final DateTimeFormatter DUMP_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+            .withZone(ZoneOffset.UTC);
+
+    private final boolean enabled;
+    private final String settings;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Path dumpDir;
+    private final int dumpRetention;
+
+    private volatile Recording recording;
+
+    public ContinuousFlightRecorder(@Value("${app.jfr.enabled:false}") boolean enabled,
+                                    @Value("${app.jfr.settings:default}") String settings,
+                                    @Value("${app.jfr.max-age-minutes:15}") long maxAgeMinutes,
+                                    @Value("${app.jfr.max-size-mb:250}") long maxSizeMb,
+                                    @Value("${app.jfr.dump-dir:${java.io.tmpdir}/benchmark-jfr}") String dumpDir,
+                                    @Value("${app.jfr.dump-retention:5}") int dumpRetention) {
+        this.enabled = enabled;
+        this.settings = settings;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.dumpDir = Paths.get(dumpDir);
+        this.dumpRetention = Math.max(1, dumpRetention);
+    }
+
+    public boolean isRecording() {
+        return recording != null;
+    }
+
+    public Duration maxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Writes the whole ring (up to {@code max-age-minutes}) to a new file in
+     * {@code dump-dir} and returns its path.
+     *
+     * @throws IllegalStateException if the recording is not running
+     */
+    public Path dump() {
+        Recording current = recording;
+        if (current == null) {
+            throw new IllegalStateException("Continuous JFR recording is not enabled (app.jfr.enabled)");
+        }
+        try {
+            Files.createDirectories(dumpDir);
+            Path file = dumpDir.resolve("benchmark-" + DUMP_NAME.format(Instant.now()) + "-"
+                    + ProcessHandle.current().pid() + ".jfr");
+            current.dump(file);
+            pruneDumps();
+            logger.info("Dumped JFR recording to {} ({} bytes)", file, Files.size(file));
+            return file;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("JFR dump failed", ex);
+        }
+    }
+
+    /**
+     * Dumps the ring to a temporary file, hands it to {@code reader} and deletes
+     * it again. Used for reports that do not need to keep the recording.
+     */
+    public <T> T readSnapshot(SnapshotReader<T> reader) {
+        Recording current = recording;
+        if (current == null) {
+            throw new IllegalStateException("Continuous JFR recording is not enabled (app.jfr.enabled)");
+        }
+        Path file = null;
+        try {
+            file = Files.createTempFile("benchmark-snapshot-", ".jfr");
+            current.dump(file);
+            return reader.read(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("JFR snapshot failed", ex);
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException ex) {
+                    logger.debug("Could not delete JFR snapshot {}", file);
+                }
+            }
+        }
+    }
+
+    private void pruneDumps() throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(dumpDir)) {
+            dumps = files.filter(path -> path.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing(ContinuousFlightRecorder::lastModified).reversed())
+                    .collect(Collectors.toList());
+        }
+        for (Path old : dumps.subList(Math.min(dumpRetention, dumps.size()), dumps.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException ex) {
+            return 0L;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Recording continuous = new Recording(Configuration.getConfiguration(settings));
+            continuous.setName(RECORDING_NAME);
+            continuous.setToDisk(true);
+            continuous.setMaxAge(maxAge);
+            continuous.setMaxSize(maxSizeBytes);
+            SENSITIVE_EVENTS.forEach(continuous::disable);
+            continuous.start();
+            recording = continuous;
+            logger.info("Continuous JFR recording started (settings={}, max age {} min, max size {} MB)",
+                    settings, maxAge.toMinutes(), maxSizeBytes / (1024 * 1024));
+        } catch (IOException | ParseException | IllegalStateException ex) {
+            logger.warn("Could not start continuous JFR recording with settings '{}': {}", settings, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        Recording current = recording;
+        recording = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    @FunctionalInterface
+    public interface SnapshotReader<T> {
+        T read(Path file) throws IOException;
+    }
+}
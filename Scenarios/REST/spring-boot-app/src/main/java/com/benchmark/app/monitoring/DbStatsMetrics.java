@@ -0,0 +1,397 @@
+package com.benchmark.app.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exports PostgreSQL session and database statistics as meters, next to the
+ * {@code hikaricp.*} pool meters Spring Boot already binds.
+ *
+ * <ul>
+ *   <li>{@code db.pg.sessions{state}} / {@code db.pg.sessions.waiting}: gauges from
+ *       {@code pg_stat_activity}, excluding this monitor's own session.</li>
+ *   <li>{@code db.pg.transactions{result}}, {@code db.pg.blocks{source}},
+ *       {@code db.pg.temp.files}, {@code db.pg.temp.bytes}: counters incremented by
+ *       the {@code pg_stat_database} delta between polls.</li>
+ *   <li>{@code db.pool.utilization}: active / maximum pool connections.</li>
+ * </ul>
+ *
+ * Queries run on one dedicated, non-pooled connection, so monitoring never
+ * competes with requests for the pool. The poll interval adapts to the pool:
+ * {@code min-interval-ms} while it is saturated, {@code interval-ms} under normal
+ * load, backing off to {@code max-interval-ms} while it is idle.
+ */
+@Component
+public class DbStatsMetrics implements MeterBinder, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(DbStatsMetrics.class);
+    private static final long ERROR_LOG_THROTTLE_MS = 60_000L;
+    private static final double SATURATED_UTILIZATION = 0.8;
+    private static final int QUERY_TIMEOUT_SECONDS = 5;
+
+    private static final String ACTIVITY_SQL = "SELECT " +
+            "SUM(CASE WHEN state = 'active' THEN 1 ELSE 0 END) AS active, " +
+            "SUM(CASE WHEN state = 'idle' THEN 1 ELSE 0 END) AS idle, " +
+            "SUM(CASE WHEN state = 'idle in transaction' THEN 1 ELSE 0 END) AS idle_in_tx, " +
+            "SUM(CASE WHEN wait_event IS NOT NULL THEN 1 ELSE 0 END) AS waiting, " +
+            "COUNT(*) AS total " +
+            "FROM pg_stat_activity WHERE datname = current_database() AND pid <> pg_backend_pid()";
+
+    private static final String DATABASE_SQL = "SELECT " +
+            "xact_commit, " +
+            "xact_rollback, " +
+            "blks_read, " +
+            "blks_hit, " +
+            "temp_files, " +
+            "temp_bytes " +
+            "FROM pg_stat_database WHERE datname = current_database()";
+
+    private final DataSource dataSource;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean enabled;
+    private final boolean postgres;
+    private final long intervalMs;
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+    private final AtomicLong lastErrorLogMs = new AtomicLong(0L);
+
+    private final AtomicLong sessionsActive = new AtomicLong(-1);
+    private final AtomicLong sessionsIdle = new AtomicLong(-1);
+    private final AtomicLong sessionsIdleInTx = new AtomicLong(-1);
+    private final AtomicLong sessionsWaiting = new AtomicLong(-1);
+    private final AtomicLong sessionsTotal = new AtomicLong(-1);
+
+    private Counter commits;
+    private Counter rollbacks;
+    private Counter blocksRead;
+    private Counter blocksHit;
+    private Counter tempFiles;
+    private Counter tempBytes;
+
+    private volatile boolean running;
+    private volatile ScheduledExecutorService scheduler;
+    private Connection connection;
+    private DbDatabaseStats lastDbStats;
+    private long currentIntervalMs;
+
+    public DbStatsMetrics(DataSource dataSource,
+                          DataSourceProperties dataSourceProperties,
+                          @Value("${app.db-stats.enabled:false}") boolean enabled,
+                          @Value("${app.db-stats.interval-ms:10000}") long intervalMs,
+                          @Value("${app.db-stats.min-interval-ms:1000}") long minIntervalMs,
+                          @Value("${app.db-stats.max-interval-ms:60000}") long maxIntervalMs) {
+        this.dataSource = dataSource;
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+        String url = dataSourceProperties.determineUrl();
+        this.postgres = url != null && url.startsWith("jdbc:postgresql:");
+        this.intervalMs = intervalMs;
+        this.minIntervalMs = Math.min(minIntervalMs, intervalMs);
+        this.maxIntervalMs = Math.max(maxIntervalMs, intervalMs);
+        this.currentIntervalMs = intervalMs;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("db.pool.utilization", this, DbStatsMetrics::poolUtilization)
+                .description("Active pool connections divided by the maximum pool size")
+                .register(registry);
+        if (!postgres) {
+            return;
+        }
+        sessionGauge(registry, "active", sessionsActive);
+        sessionGauge(registry, "idle", sessionsIdle);
+        sessionGauge(registry, "idle_in_transaction", sessionsIdleInTx);
+        Gauge.builder("db.pg.sessions.waiting", sessionsWaiting, DbStatsMetrics::sampled)
+                .description("Sessions of this database currently waiting on a lock or other event")
+                .register(registry);
+        Gauge.builder("db.pg.sessions.total", sessionsTotal, DbStatsMetrics::sampled)
+                .description("Sessions connected to this database, from every client")
+                .register(registry);
+
+        commits = transactionCounter(registry, "commit");
+        rollbacks = transactionCounter(registry, "rollback");
+        blocksRead = blockCounter(registry, "read");
+        blocksHit = blockCounter(registry, "hit");
+        tempFiles = Counter.builder("db.pg.temp.files")
+                .description("Temporary files created by queries (work_mem spills)")
+                .register(registry);
+        tempBytes = Counter.builder("db.pg.temp.bytes")
+                .description("Bytes written to temporary files by queries")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private static void sessionGauge(MeterRegistry registry, String state, AtomicLong value) {
+        Gauge.builder("db.pg.sessions", value, DbStatsMetrics::sampled)
+                .description("Sessions of this database by state, from pg_stat_activity")
+                .tag("state", state)
+                .register(registry);
+    }
+
+    // -1 until the first successful poll
+    private static double sampled(AtomicLong value) {
+        long current = value.get();
+        return current < 0 ? Double.NaN : current;
+    }
+
+    private static Counter transactionCounter(MeterRegistry registry, String result) {
+        return Counter.builder("db.pg.transactions")
+                .description("Transactions finished in this database, from pg_stat_database")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter blockCounter(MeterRegistry registry, String source) {
+        return Counter.builder("db.pg.blocks")
+                .description("Blocks read from disk (read) or found in shared buffers (hit)")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    private void poll() {
+        if (!running) {
+            return;
+        }
+        try {
+            if (postgres) {
+                collectPgStats();
+            }
+        } catch (RuntimeException ex) {
+            throttleWarn("db stats poll failed: " + ex.getMessage());
+        } finally {
+            scheduleNextPoll();
+        }
+    }
+
+    private void scheduleNextPoll() {
+        ScheduledExecutorService executor = scheduler;
+        if (!running || executor == null) {
+            return;
+        }
+        try {
+            executor.schedule(this::poll, nextIntervalMs(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            // stop() shut the executor down after the check above
+        }
+    }
+
+    private void collectPgStats() {
+        try {
+            Connection conn = monitoringConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(ACTIVITY_SQL)) {
+                stmt.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        sessionsActive.set(rs.getLong("active"));
+                        sessionsIdle.set(rs.getLong("idle"));
+                        sessionsIdleInTx.set(rs.getLong("idle_in_tx"));
+                        sessionsWaiting.set(rs.getLong("waiting"));
+                        sessionsTotal.set(rs.getLong("total"));
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(DATABASE_SQL)) {
+                stmt.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        recordDelta(new DbDatabaseStats(
+                                rs.getLong("xact_commit"),
+                                rs.getLong("xact_rollback"),
+                                rs.getLong("blks_read"),
+                                rs.getLong("blks_hit"),
+                                rs.getLong("temp_files"),
+                                rs.getLong("temp_bytes")
+                        ));
+                    }
+                }
+            }
+        } catch (SQLException ex) {
+            throttleWarn("db stats query failed: " + ex.getMessage());
+            closeConnection();
+        }
+    }
+
+    private Connection monitoringConnection() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            Properties props = new Properties();
+            String username = dataSourceProperties.determineUsername();
+            if (username != null) {
+                props.setProperty("user", username);
+            }
+            String password = dataSourceProperties.determinePassword();
+            if (password != null) {
+                props.setProperty("password", password);
+            }
+            props.setProperty("ApplicationName", "benchmark-db-stats");
+            connection = DriverManager.getConnection(dataSourceProperties.determineUrl(), props);
+            connection.setReadOnly(true);
+            // Deltas across a reconnect would include whatever happened while we were away
+            lastDbStats = null;
+        }
+        return connection;
+    }
+
+    private void recordDelta(DbDatabaseStats current) {
+        DbDatabaseStats previous = lastDbStats;
+        lastDbStats = current;
+        if (previous == null) {
+            return;
+        }
+        commits.increment(safeDelta(current.xactCommit, previous.xactCommit));
+        rollbacks.increment(safeDelta(current.xactRollback, previous.xactRollback));
+        blocksRead.increment(safeDelta(current.blksRead, previous.blksRead));
+        blocksHit.increment(safeDelta(current.blksHit, previous.blksHit));
+        tempFiles.increment(safeDelta(current.tempFiles, previous.tempFiles));
+        tempBytes.increment(safeDelta(current.tempBytes, previous.tempBytes));
+        logger.debug("db_stats pg_active={} pg_idle={} pg_idle_tx={} pg_waiting={} pg_total={} interval_ms={}",
+                sessionsActive.get(), sessionsIdle.get(), sessionsIdleInTx.get(),
+                sessionsWaiting.get(), sessionsTotal.get(), currentIntervalMs);
+    }
+
+    // pg_stat_reset() makes the cumulative values go backwards; count nothing for that poll
+    private long safeDelta(long current, long previous) {
+        return Math.max(0L, current - previous);
+    }
+
+    private long nextIntervalMs() {
+        HikariPoolMXBean pool = poolMXBean();
+        if (pool == null) {
+            currentIntervalMs = intervalMs;
+        } else if (pool.getThreadsAwaitingConnection() > 0 || poolUtilization() >= SATURATED_UTILIZATION) {
+            currentIntervalMs = minIntervalMs;
+        } else if (pool.getActiveConnections() == 0) {
+            currentIntervalMs = Math.min(maxIntervalMs, Math.max(intervalMs, currentIntervalMs * 2));
+        } else {
+            currentIntervalMs = intervalMs;
+        }
+        return currentIntervalMs;
+    }
+
+    private double poolUtilization() {
+        HikariPoolMXBean pool = poolMXBean();
+        HikariDataSource hikari = hikariDataSource();
+        if (pool == null || hikari == null || hikari.getMaximumPoolSize() <= 0) {
+            return Double.NaN;
+        }
+        return (double) pool.getActiveConnections() / hikari.getMaximumPoolSize();
+    }
+
+    private HikariPoolMXBean poolMXBean() {
+        HikariDataSource hikari = hikariDataSource();
+        // Null until the pool has been started by its first getConnection()
+        return hikari != null ? hikari.getHikariPoolMXBean() : null;
+    }
+
+    private HikariDataSource hikariDataSource() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+
+    private void closeConnection() {
+        Connection conn = connection;
+        connection = null;
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException ex) {
+                // Already broken
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.schedule(this::poll, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ScheduledExecutorService executor = scheduler;
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(QUERY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            scheduler = null;
+        }
+        closeConnection();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void throttleWarn(String message) {
+        long now = System.currentTimeMillis();
+        long last = lastErrorLogMs.get();
+        if (now - last >= ERROR_LOG_THROTTLE_MS && lastErrorLogMs.compareAndSet(last, now)) {
+            logger.warn(message);
+        }
+    }
+
+    private static class DbDatabaseStats {
+        final long xactCommit;
+        final long xactRollback;
+        final long blksRead;
+        final long blksHit;
+        final long tempFiles;
+        final long tempBytes;
+
+        private DbDatabaseStats(long xactCommit,
+                                long xactRollback,
+                                long blksRead,
+                                long blksHit,
+                                long tempFiles,
+                                long tempBytes) {
+            this.xactCommit = xactCommit;
+            this.xactRollback = xactRollback;
+            this.blksRead = blksRead;
+            this.blksHit = blksHit;
+            this.tempFiles = tempFiles;
+            this.tempBytes = tempBytes;
+        }
+    }
+}
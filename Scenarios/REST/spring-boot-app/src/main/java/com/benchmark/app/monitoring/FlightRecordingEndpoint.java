@@ -0,0 +1,90 @@
+package com.benchmark.app.monitoring;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * {@code /actuator/flightrecording}: reports from the continuous JFR recording.
+ *
+ * <ul>
+ *   <li>{@code GET /actuator/flightrecording?minutes=5&top=20}: hot methods,
+ *       allocation sites and GC pauses of the last {@code minutes} as JSON.</li>
+ *   <li>{@code GET /actuator/flightrecording/collapsed?minutes=5}: folded
+ *       execution-sample stacks for a flame graph.</li>
+ *   <li>{@code GET /actuator/flightrecording/jfr}: the whole ring as a
+ *       {@code .jfr} file for JDK Mission Control. Also kept in {@code dump-dir}.</li>
+ * </ul>
+ *
+ * The {@code .jfr} download always covers the full ring ({@code max-age-minutes}),
+ * because the Java 17 JFR API can't trim a recording by time. The JSON and folded
+ * reports honour {@code minutes}.
+ */
+@Component
+@Endpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    private static final int DEFAULT_MINUTES = 5;
+    private static final int DEFAULT_TOP = 20;
+    private static final MimeType JFR = MimeType.valueOf("application/octet-stream");
+
+    private final ContinuousFlightRecorder recorder;
+
+    public FlightRecordingEndpoint(ContinuousFlightRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Map<String, Object>> summary(@Nullable Integer minutes, @Nullable Integer top) {
+        if (!recorder.isRecording()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Instant from = windowStart(minutes);
+        int limit = top != null && top > 0 ? top : DEFAULT_TOP;
+        return new WebEndpointResponse<>(recorder.readSnapshot(file -> FlightRecordingSummary.summarize(file, from, limit)));
+    }
+
+    @ReadOperation(produces = {"application/octet-stream", "text/plain"})
+    public WebEndpointResponse<Resource> download(@Selector String format, @Nullable Integer minutes) {
+        if (!recorder.isRecording()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        switch (format) {
+            case "jfr":
+                return new WebEndpointResponse<>(new FileSystemResource(recorder.dump()), WebEndpointResponse.STATUS_OK, JFR);
+            case "collapsed":
+                Instant from = windowStart(minutes);
+                byte[] stacks = recorder.readSnapshot(file -> {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                        FlightRecordingSummary.writeCollapsedStacks(file, from, writer);
+                    }
+                    return out.toByteArray();
+                });
+                return new WebEndpointResponse<>(new ByteArrayResource(stacks), WebEndpointResponse.STATUS_OK,
+                        MimeTypeUtils.TEXT_PLAIN);
+            default:
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    private Instant windowStart(@Nullable Integer minutes) {
+        long window = minutes != null && minutes > 0 ? minutes : DEFAULT_MINUTES;
+        return Instant.now().minusSeconds(Math.min(window * 60, recorder.maxAge().getSeconds()));
+    }
+}
@@ -0,0 +1,170 @@
+package com.benchmark.app.monitoring;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a JFR dump and aggregates the events inside a time window into a hot
+ * method / allocation site / GC report, or into folded stacks
+ * ({@code root;...;leaf count}) that flamegraph.pl, speedscope and async-profiler's
+ * converter accept directly.
+ */
+final class FlightRecordingSummary {
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    private static final String GARBAGE_COLLECTION = "jdk.GarbageCollection";
+
+    private FlightRecordingSummary() {
+    }
+
+    static Map<String, Object> summarize(Path file, Instant from, int top) throws IOException {
+        Map<String, Long> methodSamples = new HashMap<>();
+        Map<String, Long> allocationBytes = new HashMap<>();
+        long executionSamples = 0;
+        long allocatedBytes = 0;
+        long gcCount = 0;
+        Duration gcPauses = Duration.ZERO;
+        Instant first = null;
+        Instant last = null;
+
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                if (event.getStartTime().isBefore(from)) {
+                    continue;
+                }
+                String type = event.getEventType().getName();
+                if (EXECUTION_SAMPLE.equals(type)) {
+                    executionSamples++;
+                    methodSamples.merge(topFrame(event.getStackTrace(), false), 1L, Long::sum);
+                } else if (ALLOCATION_SAMPLE.equals(type)) {
+                    long weight = event.getLong("weight");
+                    allocatedBytes += weight;
+                    String site = topFrame(event.getStackTrace(), true) + " -> " + event.getClass("objectClass").getName();
+                    allocationBytes.merge(site, weight, Long::sum);
+                } else if (GARBAGE_COLLECTION.equals(type)) {
+                    gcCount++;
+                    gcPauses = gcPauses.plus(event.getDuration("sumOfPauses"));
+                } else {
+                    continue;
+                }
+                first = first == null || event.getStartTime().isBefore(first) ? event.getStartTime() : first;
+                last = last == null || event.getEndTime().isAfter(last) ? event.getEndTime() : last;
+            }
+        }
+
+        Map<String, Object> window = new LinkedHashMap<>();
+        window.put("from", first);
+        window.put("to", last);
+
+        Map<String, Object> cpu = new LinkedHashMap<>();
+        cpu.put("executionSamples", executionSamples);
+        cpu.put("hotMethods", ranked(methodSamples, executionSamples, top, "method", "samples"));
+
+        Map<String, Object> allocation = new LinkedHashMap<>();
+        allocation.put("sampledBytes", allocatedBytes);
+        allocation.put("topSites", ranked(allocationBytes, allocatedBytes, top, "site", "bytes"));
+
+        Map<String, Object> gc = new LinkedHashMap<>();
+        gc.put("collections", gcCount);
+        gc.put("totalPauseMs", gcPauses.toNanos() / 1_000_000.0);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("window", window);
+        summary.put("cpu", cpu);
+        summary.put("allocation", allocation);
+        summary.put("gc", gc);
+        return summary;
+    }
+
+    /**
+     * Writes one line per distinct execution-sample stack, root frame first.
+     */
+    static void writeCollapsedStacks(Path file, Instant from, Writer out) throws IOException {
+        Map<String, Long> stacks = new HashMap<>();
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                if (!EXECUTION_SAMPLE.equals(event.getEventType().getName()) || event.getStartTime().isBefore(from)) {
+                    continue;
+                }
+                RecordedStackTrace stackTrace = event.getStackTrace();
+                if (stackTrace == null) {
+                    continue;
+                }
+                List<RecordedFrame> frames = stackTrace.getFrames();
+                StringBuilder stack = new StringBuilder();
+                for (int i = frames.size() - 1; i >= 0; i--) {
+                    if (stack.length() > 0) {
+                        stack.append(';');
+                    }
+                    stack.append(frameName(frames.get(i)));
+                }
+                stacks.merge(stack.toString(), 1L, Long::sum);
+            }
+        }
+        for (Map.Entry<String, Long> entry : stacks.entrySet()) {
+            out.write(entry.getKey());
+            out.write(' ');
+            out.write(Long.toString(entry.getValue()));
+            out.write('\n');
+        }
+    }
+
+    /**
+     * The leaf frame, or for allocations the first frame outside the JDK, which
+     * is the code that asked for the memory.
+     */
+    private static String topFrame(RecordedStackTrace stackTrace, boolean skipJdk) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        if (skipJdk) {
+            for (RecordedFrame frame : frames) {
+                String className = frame.getMethod() != null ? frame.getMethod().getType().getName() : "";
+                if (!className.startsWith("java.") && !className.startsWith("jdk.") && !className.startsWith("sun.")) {
+                    return frameName(frame);
+                }
+            }
+        }
+        return frameName(frames.get(0));
+    }
+
+    private static String frameName(RecordedFrame frame) {
+        if (frame.getMethod() == null) {
+            return "unknown";
+        }
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private static List<Map<String, Object>> ranked(Map<String, Long> counts, long total, int top,
+                                                    String keyName, String valueName) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        List<Map<String, Object>> result = new ArrayList<>(Math.min(top, entries.size()));
+        for (Map.Entry<String, Long> entry : entries.subList(0, Math.min(top, entries.size()))) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put(keyName, entry.getKey());
+            row.put(valueName, entry.getValue());
+            row.put("percent", total == 0 ? 0.0 : Math.round(entry.getValue() * 1000.0 / total) / 10.0);
+            result.add(row);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,34 @@
+package com.benchmark.app.monitoring;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/slowqueries}: the slowest recently sampled statements with
+ * their repository method and bind parameter types. Empty unless
+ * {@code app.sql-metrics.enabled} is true.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RegisterReflectionForBinding(SqlQueryRecorder.SlowQuery.class)
+public class SlowQueryEndpoint {
+
+    private final SqlQueryRecorder recorder;
+
+    public SlowQueryEndpoint(SqlQueryRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowQueries() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("thresholdMs", recorder.slowThresholdMs());
+        body.put("queries", recorder.slowQueries());
+        return body;
+    }
+}
@@ -0,0 +1,110 @@
+package com.benchmark.app.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wires per-query SQL metrics when {@code app.sql-metrics.enabled} is true:
+ * wraps the application's {@code dataSource} bean in a {@link SqlTimingDataSource}
+ * (only that one, so the pools behind read/write routing are not timed twice) and
+ * labels repository calls so each statement is attributed to {@code Repository.method}.
+ * Spring Data repositories are labelled through a repository factory customizer
+ * (by repository interface, so inherited methods such as {@code findById} get the
+ * caller's name); plain {@code @Repository} classes get a labelling advisor.
+ */
+@Component
+public class SqlMetricsPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    private final boolean enabled;
+    private final ObjectProvider<SqlQueryRecorder> recorderProvider;
+
+    public SqlMetricsPostProcessor(Environment environment, ObjectProvider<SqlQueryRecorder> recorderProvider) {
+        this.enabled = environment.getProperty("app.sql-metrics.enabled", Boolean.class, false);
+        this.recorderProvider = recorderProvider;
+        this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Repository.class, true),
+                new QueryLabelInterceptor(null));
+        setBeforeExistingAdvisors(true);
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(0, new QueryLabelInterceptor(
+                                    repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled) {
+            return bean;
+        }
+        if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                && !(bean instanceof SqlTimingDataSource)) {
+            return new SqlTimingDataSource(dataSource, recorderProvider);
+        }
+        return super.postProcessAfterInitialization(bean, beanName);
+    }
+
+    @Override
+    protected boolean isEligible(Object bean, String beanName) {
+        // Spring Data repositories are labelled by the factory customizer
+        return !(bean instanceof org.springframework.data.repository.Repository<?, ?>)
+                && super.isEligible(bean, beanName);
+    }
+
+    /**
+     * Sets the {@link SqlQueryContext} label for the duration of a repository call.
+     * Nested calls take the innermost label.
+     */
+    private static final class QueryLabelInterceptor implements MethodInterceptor {
+
+        // null: use the target class name
+        private final String repositoryName;
+        private final ConcurrentMap<Method, String> labels = new ConcurrentHashMap<>();
+
+        QueryLabelInterceptor(String repositoryName) {
+            this.repositoryName = repositoryName;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            String previous = SqlQueryContext.enter(label(invocation));
+            try {
+                return invocation.proceed();
+            } finally {
+                SqlQueryContext.restore(previous);
+            }
+        }
+
+        private String label(MethodInvocation invocation) {
+            Method method = invocation.getMethod();
+            String label = labels.get(method);
+            if (label == null) {
+                String owner = repositoryName != null
+                        ? repositoryName
+                        : AopUtils.getTargetClass(invocation.getThis()).getSimpleName();
+                label = owner + "." + method.getName();
+                labels.putIfAbsent(method, label);
+            }
+            return label;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.benchmark.app.monitoring;
+
+import java.util.Locale;
+
+/**
+ * Statement kind, from the first keyword of the SQL.
+ */
+enum SqlOperation {
+    SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+    private final String tagValue = name().toLowerCase(Locale.ROOT);
+
+    static SqlOperation of(String sql) {
+        if (sql == null) {
+            return OTHER;
+        }
+        int start = 0;
+        while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+            start++;
+        }
+        for (SqlOperation operation : values()) {
+            if (operation != OTHER && sql.regionMatches(true, start, operation.name(), 0, operation.name().length())) {
+                return operation;
+            }
+        }
+        return OTHER;
+    }
+
+    String tagValue() {
+        return tagValue;
+    }
+}
@@ -0,0 +1,37 @@
+package com.benchmark.app.monitoring;
+
+/**
+ * Names the logical query (repository method) that the current thread is
+ * executing, so statement timings can be attributed to it.
+ */
+final class SqlQueryContext {
+
+    static final String UNATTRIBUTED = "unattributed";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private SqlQueryContext() {
+    }
+
+    static String current() {
+        String query = CURRENT.get();
+        return query != null ? query : UNATTRIBUTED;
+    }
+
+    /**
+     * Sets the label and returns the previous one, to be passed to {@link #restore}.
+     */
+    static String enter(String query) {
+        String previous = CURRENT.get();
+        CURRENT.set(query);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
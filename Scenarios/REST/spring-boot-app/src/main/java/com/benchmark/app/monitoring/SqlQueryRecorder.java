@@ -0,0 +1,127 @@
+package com.benchmark.app.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records JDBC statement execution time as the {@code db.query} timer, tagged by
+ * logical query ({@code Repository.method}) and operation, with a percentile
+ * histogram. Of the statements slower than {@code slow-query-threshold-ms}, the
+ * {@code slow-query-buffer-size} slowest are also kept for the {@code slowqueries}
+ * actuator endpoint; a faster one never displaces a slower one. Only bind
+ * parameter types are kept, never values.
+ */
+@Component
+public class SqlQueryRecorder {
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdMs;
+    private final long slowThresholdNanos;
+    private final int slowQueryLimit;
+    /** Min-heap on duration: the head is the first to go. Guarded by itself. */
+    private final PriorityQueue<SlowQuery> slowQueries =
+            new PriorityQueue<>(Comparator.comparingDouble(SlowQuery::durationMs));
+    /** Duration of the fastest kept statement once the buffer is full (-1 until then), so most statements skip the lock. */
+    private volatile double slowQueryFloorMs = -1;
+    private final ConcurrentMap<String, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public SqlQueryRecorder(MeterRegistry meterRegistry,
+                            @Value("${app.sql-metrics.slow-query-threshold-ms:50}") long slowThresholdMs,
+                            @Value("${app.sql-metrics.slow-query-buffer-size:50}") int bufferSize) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdMs = slowThresholdMs;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.slowQueryLimit = Math.max(1, bufferSize);
+    }
+
+    /**
+     * @param parameters bind parameter types by index (1-based, slot 0 unused),
+     *                   only read when the statement is slow
+     */
+    void record(String query, SqlOperation operation, String sql,
+                Object[] parameters, int parameterCount, long elapsedNanos) {
+        timer(query, operation).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (elapsedNanos >= slowThresholdNanos) {
+            double durationMs = elapsedNanos / 1_000_000.0;
+            if (durationMs <= slowQueryFloorMs) {
+                return;
+            }
+            SlowQuery slowQuery = new SlowQuery(query, operation.tagValue(), sql,
+                    parameterTypes(parameters, parameterCount), durationMs, Instant.now());
+            synchronized (slowQueries) {
+                if (slowQueries.size() < slowQueryLimit) {
+                    slowQueries.add(slowQuery);
+                } else if (durationMs > slowQueries.peek().durationMs()) {
+                    slowQueries.poll();
+                    slowQueries.add(slowQuery);
+                }
+                if (slowQueries.size() == slowQueryLimit) {
+                    slowQueryFloorMs = slowQueries.peek().durationMs();
+                }
+            }
+        }
+    }
+
+    public long slowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    /**
+     * The buffered slow statements, slowest first.
+     */
+    public List<SlowQuery> slowQueries() {
+        List<SlowQuery> result;
+        synchronized (slowQueries) {
+            result = new ArrayList<>(slowQueries);
+        }
+        result.sort(Comparator.comparingDouble(SlowQuery::durationMs).reversed());
+        return result;
+    }
+
+    private Timer timer(String query, SqlOperation operation) {
+        Timer[] byOperation = timers.computeIfAbsent(query, key -> new Timer[SqlOperation.values().length]);
+        Timer timer = byOperation[operation.ordinal()];
+        if (timer == null) {
+            // Racing threads get the same registered meter back
+            timer = Timer.builder("db.query")
+                    .description("JDBC statement execution time by repository method")
+                    .tag("query", query)
+                    .tag("operation", operation.tagValue())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            byOperation[operation.ordinal()] = timer;
+        }
+        return timer;
+    }
+
+    private static List<String> parameterTypes(Object[] parameters, int parameterCount) {
+        List<String> types = new ArrayList<>(parameterCount);
+        for (int i = 1; i <= parameterCount; i++) {
+            Object type = parameters[i];
+            if (type == null) {
+                types.add("?");
+            } else if (type instanceof Class<?> valueClass) {
+                types.add(valueClass.getSimpleName());
+            } else {
+                // Setter name, e.g. setLong -> Long
+                types.add(((String) type).substring(3));
+            }
+        }
+        return types;
+    }
+
+    public record SlowQuery(String query, String operation, String sql, List<String> parameterTypes,
+                            double durationMs, Instant timestamp) {
+    }
+}
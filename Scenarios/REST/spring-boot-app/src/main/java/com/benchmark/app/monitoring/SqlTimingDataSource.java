@@ -0,0 +1,167 @@
+package com.benchmark.app.monitoring;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Wraps connections and statements in JDK proxies that time every
+ * {@code execute*} call and hand it to {@link SqlQueryRecorder}. Extends
+ * {@link DelegatingDataSource}, so Spring Boot's pool metrics and anything
+ * calling {@code unwrap(HikariDataSource.class)} still reach the pool.
+ */
+class SqlTimingDataSource extends DelegatingDataSource {
+
+    private static final Class<?>[] CONNECTION_TYPES = {Connection.class};
+    private static final Class<?>[] STATEMENT_TYPES = {Statement.class};
+    private static final Class<?>[] PREPARED_STATEMENT_TYPES = {PreparedStatement.class};
+    private static final Class<?>[] CALLABLE_STATEMENT_TYPES = {CallableStatement.class};
+
+    private final ObjectProvider<SqlQueryRecorder> recorderProvider;
+    private volatile SqlQueryRecorder recorder;
+
+    SqlTimingDataSource(DataSource target, ObjectProvider<SqlQueryRecorder> recorderProvider) {
+        super(target);
+        this.recorderProvider = recorderProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), CONNECTION_TYPES,
+                new ConnectionHandler(connection));
+    }
+
+    // Resolved lazily: the DataSource is created before the MeterRegistry is ready
+    private SqlQueryRecorder recorder() {
+        SqlQueryRecorder current = recorder;
+        if (current == null) {
+            current = recorderProvider.getObject();
+            recorder = current;
+        }
+        return current;
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "prepareStatement":
+                    return wrapStatement(proxy, invokeTarget(target, method, args), PREPARED_STATEMENT_TYPES, (String) args[0]);
+                case "prepareCall":
+                    return wrapStatement(proxy, invokeTarget(target, method, args), CALLABLE_STATEMENT_TYPES, (String) args[0]);
+                case "createStatement":
+                    return wrapStatement(proxy, invokeTarget(target, method, args), STATEMENT_TYPES, null);
+                default:
+                    return invokeTarget(target, method, args);
+            }
+        }
+
+        private Object wrapStatement(Object connectionProxy, Object statement, Class<?>[] types, String sql) {
+            return Proxy.newProxyInstance(SqlTimingDataSource.class.getClassLoader(), types,
+                    new StatementHandler((Statement) statement, (Connection) connectionProxy, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connectionProxy;
+        private final String sql;
+        private final SqlOperation operation;
+        // Setter name or value class per 1-based parameter index
+        private Object[] parameters = new Object[8];
+        private int parameterCount;
+
+        StatementHandler(Statement target, Connection connectionProxy, String sql) {
+            this.target = target;
+            this.connectionProxy = connectionProxy;
+            this.sql = sql;
+            this.operation = SqlOperation.of(sql);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    return invokeTarget(target, method, args);
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    // Plain Statement: the SQL is the first argument of execute*(String, ...)
+                    String statementSql = sql;
+                    SqlOperation statementOperation = operation;
+                    if (statementSql == null && args != null && args.length > 0 && args[0] instanceof String text) {
+                        statementSql = text;
+                        statementOperation = SqlOperation.of(text);
+                    }
+                    recorder().record(SqlQueryContext.current(), statementOperation, statementSql,
+                            parameters, parameterCount, elapsed);
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                rememberParameter(index, name, args[1]);
+            } else if (name.equals("clearParameters")) {
+                Arrays.fill(parameters, null);
+                parameterCount = 0;
+            } else if (name.equals("getConnection")) {
+                return connectionProxy;
+            } else if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            return invokeTarget(target, method, args);
+        }
+
+        private void rememberParameter(int index, String setter, Object value) {
+            if (index <= 0) {
+                return;
+            }
+            if (index >= parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index + 1, parameters.length * 2));
+            }
+            parameters[index] = setter.equals("setObject") && value != null ? value.getClass() : setter;
+            parameterCount = Math.max(parameterCount, index);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.benchmark.app.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.PlatformManagedObject;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Publishes virtual thread pinning and carrier saturation, read in-process from a
+ * JFR event stream:
+ *
+ * <ul>
+ *   <li>{@code jvm.threads.virtual.pinned{library,frame}}: timer of
+ *       {@code jdk.VirtualThreadPinned} events longer than {@code pinned-threshold-ms}.
+ *       {@code library} is the first known library on the pinned stack (hikari,
+ *       postgresql, hibernate, h2, app), and {@code frame} is the top non-JDK frame.</li>
+ *   <li>{@code jvm.threads.virtual.submit.failed}: {@code jdk.VirtualThreadSubmitFailed}
+ *       events, i.e. the scheduler could not accept a virtual thread.</li>
+ *   <li>{@code jvm.threads.virtual.carriers.*}: scheduler parallelism, mounted and
+ *       queued virtual threads, and their ratio, from
+ *       {@code jdk.management.VirtualThreadSchedulerMXBean} (Java 24+).</li>
+ * </ul>
+ *
+ * Only these two low-frequency events are enabled, so the stream costs little
+ * beyond JFR's own buffers. On Java 17 nothing is started.
+ */
+@Component
+public class VirtualThreadMetrics implements MeterBinder, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadMetrics.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+    private static final String SCHEDULER_MXBEAN = "jdk.management.VirtualThreadSchedulerMXBean";
+    private static final int MAX_FRAME_TAGS = 100;
+    private static final String OTHER = "other";
+
+    private static final List<String[]> LIBRARIES = List.of(
+            new String[]{"com.zaxxer.hikari.", "hikari"},
+            new String[]{"org.postgresql.", "postgresql"},
+            new String[]{"org.hibernate.", "hibernate"},
+            new String[]{"org.h2.", "h2"},
+            new String[]{"com.benchmark.", "app"});
+
+    private final boolean enabled;
+    private final boolean supported;
+    private final Duration pinnedThreshold;
+    private final ConcurrentMap<String, Timer> pinnedTimers = new ConcurrentHashMap<>();
+
+    private MeterRegistry registry;
+    private Counter submitFailed;
+    private volatile RecordingStream stream;
+
+    public VirtualThreadMetrics(@Value("${app.vthreads.metrics.enabled:false}") boolean enabled,
+                                @Value("${app.vthreads.metrics.pinned-threshold-ms:20}") long pinnedThresholdMs) {
+        this.enabled = enabled;
+        this.supported = Runtime.version().feature() >= 21;
+        this.pinnedThreshold = Duration.ofMillis(pinnedThresholdMs);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled || !supported) {
+            return;
+        }
+        this.registry = registry;
+        submitFailed = Counter.builder("jvm.threads.virtual.submit.failed")
+                .description("Virtual threads the scheduler failed to start or unpark (jdk.VirtualThreadSubmitFailed)")
+                .register(registry);
+        bindSchedulerGauges(registry);
+    }
+
+    /**
+     * The scheduler MXBean only exists on Java 24+, and this module compiles for
+     * Java 17, so it is looked up and read reflectively.
+     */
+    @SuppressWarnings("unchecked")
+    private void bindSchedulerGauges(MeterRegistry registry) {
+        try {
+            Class<? extends PlatformManagedObject> type =
+                    (Class<? extends PlatformManagedObject>) Class.forName(SCHEDULER_MXBEAN);
+            Object bean = ManagementFactory.getPlatformMXBean(type);
+            Method parallelism = type.getMethod("getParallelism");
+            Method mounted = type.getMethod("getMountedVirtualThreadCount");
+            Method queued = type.getMethod("getQueuedVirtualThreadCount");
+            schedulerGauge(registry, "jvm.threads.virtual.carriers.parallelism",
+                    "Carrier threads the virtual thread scheduler targets", bean, parallelism);
+            schedulerGauge(registry, "jvm.threads.virtual.carriers.mounted",
+                    "Virtual threads currently mounted on a carrier", bean, mounted);
+            schedulerGauge(registry, "jvm.threads.virtual.carriers.queued",
+                    "Virtual threads waiting for a free carrier", bean, queued);
+            Gauge.builder("jvm.threads.virtual.carriers.utilization", bean,
+                            b -> invoke(mounted, b) / invoke(parallelism, b))
+                    .description("Mounted virtual threads divided by scheduler parallelism")
+                    .register(registry);
+        } catch (ReflectiveOperationException | IllegalArgumentException ex) {
+            logger.info("Carrier utilization metrics need Java 24+ ({} not available)", SCHEDULER_MXBEAN);
+        }
+    }
+
+    private static void schedulerGauge(MeterRegistry registry, String name, String description,
+                                       Object bean, Method method) {
+        Gauge.builder(name, bean, b -> invoke(method, b))
+                .description(description)
+                .register(registry);
+    }
+
+    private static double invoke(Method method, Object bean) {
+        try {
+            return ((Number) method.invoke(bean)).doubleValue();
+        } catch (ReflectiveOperationException ex) {
+            return Double.NaN;
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String library = null;
+        String frame = null;
+        if (stackTrace != null) {
+            for (RecordedFrame recordedFrame : stackTrace.getFrames()) {
+                if (recordedFrame.getMethod() == null) {
+                    continue;
+                }
+                String className = recordedFrame.getMethod().getType().getName();
+                if (frame == null && !isJdkClass(className)) {
+                    frame = simpleName(className) + "." + recordedFrame.getMethod().getName();
+                }
+                if (library == null) {
+                    library = library(className);
+                }
+                if (frame != null && library != null) {
+                    break;
+                }
+            }
+        }
+        pinnedTimer(library != null ? library : OTHER, frame != null ? frame : OTHER).record(event.getDuration());
+    }
+
+    private Timer pinnedTimer(String library, String frame) {
+        String key = library + '|' + frame;
+        Timer timer = pinnedTimers.get(key);
+        if (timer != null) {
+            return timer;
+        }
+        // Keep the frame tag bounded; past the cap only the library is kept
+        if (pinnedTimers.size() >= MAX_FRAME_TAGS) {
+            frame = OTHER;
+            key = library + '|' + frame;
+        }
+        String frameTag = frame;
+        return pinnedTimers.computeIfAbsent(key, k -> Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads stayed pinned to their carrier (jdk.VirtualThreadPinned)")
+                .tag("library", library)
+                .tag("frame", frameTag)
+                .register(registry));
+    }
+
+    private static boolean isJdkClass(String className) {
+        return className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.");
+    }
+
+    private static String library(String className) {
+        for (String[] library : LIBRARIES) {
+            if (className.startsWith(library[0])) {
+                return library[1];
+            }
+        }
+        return null;
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (!supported) {
+            logger.info("Virtual thread metrics need Java 21+; running on {}", Runtime.version());
+            return;
+        }
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(pinnedThreshold).withStackTrace();
+        recording.enable(SUBMIT_FAILED_EVENT).withStackTrace();
+        // Events are consumed as they arrive; keep little on disk
+        recording.setMaxAge(Duration.ofSeconds(30));
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.onEvent(SUBMIT_FAILED_EVENT, event -> submitFailed.increment());
+        recording.onError(ex -> logger.warn("Virtual thread JFR stream failed: {}", ex.getMessage()));
+        recording.startAsync();
+        stream = recording;
+        logger.info("Virtual thread pinning metrics enabled (threshold {} ms)", pinnedThreshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+}
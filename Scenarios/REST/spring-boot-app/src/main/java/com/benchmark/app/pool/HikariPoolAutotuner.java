@@ -0,0 +1,276 @@
+package com.benchmark.app.pool;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resizes the Hikari pool at runtime between {@code min-size} and {@code max-size}
+ * using {@link PoolSizeController}. Every interval it reads the
+ * {@code hikaricp.connections.usage} and {@code hikaricp.connections.acquire}
+ * timers that Spring Boot binds for the pool, plus the number of waiting threads.
+ *
+ * <p>On PostgreSQL the upper bound is also capped once at startup to this
+ * instance's share of {@code max_connections}: the server limit minus
+ * {@code superuser_reserved_connections}, divided by {@code instances}. That keeps
+ * a scaled-out service from exhausting a small RDS instance.
+ */
+@Component
+public class HikariPoolAutotuner implements MeterBinder, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(HikariPoolAutotuner.class);
+    private static final long ERROR_LOG_THROTTLE_MS = 60_000L;
+
+    private static final String CAPACITY_SQL = "SELECT " +
+            "current_setting('max_connections')::int - current_setting('superuser_reserved_connections')::int";
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final boolean postgres;
+    private final long intervalMs;
+    private final int instances;
+    private final PoolSizeController controller;
+    private final AtomicLong lastErrorLogMs = new AtomicLong(0L);
+
+    private MeterRegistry registry;
+    private Counter resizesUp;
+    private Counter resizesDown;
+
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+    // Pool settings before the first resize, restored when the autotuner stops; 0 until then
+    private volatile int configuredMinimumIdle;
+    private volatile int configuredMaximumPoolSize;
+    private boolean capacityChecked;
+    private long lastTickNanos;
+    private long lastUsageCount;
+    private double lastUsageTotalMs;
+    private long lastAcquireCount;
+    private double lastAcquireTotalMs;
+
+    public HikariPoolAutotuner(DataSource dataSource,
+                               DataSourceProperties dataSourceProperties,
+                               @Value("${app.db-pool.autotune.enabled:false}") boolean enabled,
+                               @Value("${app.db-pool.autotune.min-size:5}") int minSize,
+                               @Value("${app.db-pool.autotune.max-size:100}") int maxSize,
+                               @Value("${app.db-pool.autotune.interval-ms:5000}") long intervalMs,
+                               @Value("${app.db-pool.autotune.headroom:1.25}") double headroom,
+                               @Value("${app.db-pool.autotune.latency-tolerance:2.0}") double latencyTolerance,
+                               @Value("${app.db-pool.autotune.acquire-target-ms:5}") double acquireTargetMs,
+                               @Value("${app.db-pool.autotune.instances:1}") int instances) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        String url = dataSourceProperties.determineUrl();
+        this.postgres = url != null && url.startsWith("jdbc:postgresql:");
+        this.intervalMs = intervalMs;
+        this.instances = Math.max(1, instances);
+        this.controller = new PoolSizeController(minSize, maxSize, headroom, latencyTolerance, acquireTargetMs);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        this.registry = registry;
+        Gauge.builder("db.pool.autotune.size", this, HikariPoolAutotuner::currentMaximumPoolSize)
+                .description("Maximum pool size chosen by the autotuner")
+                .register(registry);
+        Gauge.builder("db.pool.autotune.demand", controller, PoolSizeController::demand)
+                .description("Connections busy on average (checkout rate x hold time) over the last interval")
+                .register(registry);
+        Gauge.builder("db.pool.autotune.gradient", controller, PoolSizeController::gradient)
+                .description("Baseline / current connection hold time, capped at 1; below 1 the pool is shrunk")
+                .register(registry);
+        Gauge.builder("db.pool.autotune.max", controller, PoolSizeController::maxSize)
+                .description("Upper bound for the pool size after the database capacity cap")
+                .register(registry);
+        resizesUp = resizeCounter(registry, "up");
+        resizesDown = resizeCounter(registry, "down");
+    }
+
+    private static Counter resizeCounter(MeterRegistry registry, String direction) {
+        return Counter.builder("db.pool.autotune.resizes")
+                .description("Pool resizes made by the autotuner")
+                .tag("direction", direction)
+                .register(registry);
+    }
+
+    private void tick() {
+        try {
+            HikariDataSource hikari = hikariDataSource();
+            HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+            if (pool == null || registry == null) {
+                return;
+            }
+            if (!capacityChecked) {
+                capacityChecked = true;
+                capToDatabaseCapacity();
+            }
+            long now = System.nanoTime();
+            Timer usage = registry.find("hikaricp.connections.usage").tag("pool", hikari.getPoolName()).timer();
+            Timer acquire = registry.find("hikaricp.connections.acquire").tag("pool", hikari.getPoolName()).timer();
+            if (usage == null || acquire == null) {
+                throttleWarn("Hikari pool timers not found; pool autotuning is inactive");
+                return;
+            }
+            long usageCount = usage.count();
+            double usageTotalMs = usage.totalTime(TimeUnit.MILLISECONDS);
+            long acquireCount = acquire.count();
+            double acquireTotalMs = acquire.totalTime(TimeUnit.MILLISECONDS);
+            if (lastTickNanos != 0) {
+                long checkouts = usageCount - lastUsageCount;
+                long acquires = acquireCount - lastAcquireCount;
+                double usageMs = checkouts > 0 ? (usageTotalMs - lastUsageTotalMs) / checkouts : 0;
+                double acquireMs = acquires > 0 ? (acquireTotalMs - lastAcquireTotalMs) / acquires : 0;
+                double seconds = (now - lastTickNanos) / 1_000_000_000.0;
+                resize(hikari.getHikariConfigMXBean(), checkouts, usageMs, acquireMs,
+                        pool.getThreadsAwaitingConnection(), seconds);
+            }
+            lastTickNanos = now;
+            lastUsageCount = usageCount;
+            lastUsageTotalMs = usageTotalMs;
+            lastAcquireCount = acquireCount;
+            lastAcquireTotalMs = acquireTotalMs;
+        } catch (RuntimeException ex) {
+            throttleWarn("Pool autotune failed: " + ex.getMessage());
+        }
+    }
+
+    private void resize(HikariConfigMXBean config, long checkouts, double usageMs, double acquireMs,
+                        int waiting, double seconds) {
+        int current = config.getMaximumPoolSize();
+        int target = controller.next(current, checkouts, usageMs, acquireMs, waiting, seconds);
+        if (target == current) {
+            return;
+        }
+        if (configuredMaximumPoolSize == 0) {
+            configuredMinimumIdle = config.getMinimumIdle();
+            configuredMaximumPoolSize = current;
+        }
+        // Minimum-idle follows the maximum down, so it never holds connections above it,
+        // and back up as far as its configured value
+        int minimumIdle = Math.min(configuredMinimumIdle, target);
+        if (target < current) {
+            config.setMinimumIdle(minimumIdle);
+            config.setMaximumPoolSize(target);
+        } else {
+            config.setMaximumPoolSize(target);
+            config.setMinimumIdle(minimumIdle);
+        }
+        (target > current ? resizesUp : resizesDown).increment();
+        logger.info("Pool resized {} -> {} (demand={} hold_ms={} acquire_ms={} waiting={} gradient={})",
+                current, target, String.format("%.1f", controller.demand()), String.format("%.1f", usageMs),
+                String.format("%.1f", acquireMs), waiting, String.format("%.2f", controller.gradient()));
+    }
+
+    private void capToDatabaseCapacity() {
+        if (!postgres) {
+            return;
+        }
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(CAPACITY_SQL)) {
+            if (rs.next()) {
+                int capacity = rs.getInt(1) / instances;
+                controller.capMaxSize(capacity);
+                logger.info("Pool autotune bounds {}..{} (database allows {} connections across {} instance(s))",
+                        controller.minSize(), controller.maxSize(), rs.getInt(1), instances);
+            }
+        } catch (SQLException ex) {
+            throttleWarn("Could not read max_connections: " + ex.getMessage());
+        }
+    }
+
+    private double currentMaximumPoolSize() {
+        HikariDataSource hikari = hikariDataSource();
+        return hikari != null ? hikari.getHikariConfigMXBean().getMaximumPoolSize() : Double.NaN;
+    }
+
+    private HikariDataSource hikariDataSource() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-pool-autotune");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::tick, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ScheduledExecutorService executor = scheduler;
+        if (executor != null) {
+            executor.shutdownNow();
+            scheduler = null;
+            try {
+                // A tick still running would resize the pool again after the restore below
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        restoreConfiguredSize();
+    }
+
+    private void restoreConfiguredSize() {
+        HikariDataSource hikari = hikariDataSource();
+        int maximumPoolSize = configuredMaximumPoolSize;
+        if (hikari == null || maximumPoolSize == 0) {
+            return;
+        }
+        HikariConfigMXBean config = hikari.getHikariConfigMXBean();
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(configuredMinimumIdle);
+        configuredMaximumPoolSize = 0;
+        logger.info("Pool autotune stopped; pool size restored to {} (minimum idle {})",
+                maximumPoolSize, configuredMinimumIdle);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void throttleWarn(String message) {
+        long now = System.currentTimeMillis();
+        long last = lastErrorLogMs.get();
+        if (now - last >= ERROR_LOG_THROTTLE_MS && lastErrorLogMs.compareAndSet(last, now)) {
+            logger.warn(message);
+        }
+    }
+}
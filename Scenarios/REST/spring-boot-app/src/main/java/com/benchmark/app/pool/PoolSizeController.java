@@ -0,0 +1,113 @@
+package com.benchmark.app.pool;
+
+/**
+ * Decides the next connection pool size from one sampling interval.
+ *
+ * <p>Little's law gives the demand: connections busy on average = checkouts per
+ * second x mean time a connection is held. The pool is sized to that demand plus
+ * {@code headroom}, and grown faster while requests are waiting for a connection.
+ *
+ * <p>A latency gradient acts as a brake. If the mean hold time rises above
+ * {@code latencyTolerance} times its long-term baseline, the database is the
+ * bottleneck and more connections would only add contention. The pool then
+ * shrinks in proportion, and callers queue in the pool instead of in the database.
+ *
+ * <p>Not thread-safe; called from a single scheduler thread.
+ */
+public final class PoolSizeController {
+
+    private static final double BASELINE_SMOOTHING = 0.05;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minSize;
+    private final double headroom;
+    private final double latencyTolerance;
+    private final double acquireTargetMs;
+
+    // Written by the tuning thread, read by gauges on scrape threads
+    private volatile int maxSize;
+    private volatile double demand;
+    private volatile double gradient = 1.0;
+    private double baselineUsageMs = Double.NaN;
+
+    public PoolSizeController(int minSize, int maxSize, double headroom,
+                              double latencyTolerance, double acquireTargetMs) {
+        this.minSize = Math.max(1, minSize);
+        this.maxSize = Math.max(this.minSize, maxSize);
+        this.headroom = Math.max(1.0, headroom);
+        this.latencyTolerance = Math.max(1.0, latencyTolerance);
+        this.acquireTargetMs = acquireTargetMs;
+    }
+
+    /**
+     * @param currentSize     current maximum pool size
+     * @param checkouts       connections borrowed during the interval
+     * @param usageMs         mean time a connection was held during the interval
+     * @param acquireMs       mean time callers waited to borrow a connection
+     * @param waiting         threads waiting for a connection at the end of the interval
+     * @param intervalSeconds length of the interval
+     * @return the new maximum pool size, within the configured bounds
+     */
+    public int next(int currentSize, long checkouts, double usageMs, double acquireMs,
+                    int waiting, double intervalSeconds) {
+        int target;
+        if (checkouts <= 0 || intervalSeconds <= 0) {
+            demand = 0;
+            gradient = 1.0;
+            target = waiting > 0 ? currentSize + waiting : 0;
+        } else {
+            demand = checkouts / intervalSeconds * usageMs / 1000.0;
+            gradient = gradient(usageMs);
+            target = (int) Math.ceil(demand * headroom);
+            if (waiting > 0 || acquireMs > acquireTargetMs) {
+                target = Math.max(target, currentSize + Math.max(waiting, Math.max(1, currentSize / 4)));
+            }
+            if (gradient < 1.0) {
+                target = Math.min(target, (int) Math.floor(currentSize * gradient));
+            }
+        }
+        // Grow quickly, shrink slowly: Hikari only retires idle connections on its
+        // housekeeping pass, and a dip between bursts should not drain the pool
+        int maxGrowth = Math.max(2, currentSize / 2);
+        int maxShrink = Math.max(1, currentSize / 10);
+        target = Math.max(currentSize - maxShrink, Math.min(currentSize + maxGrowth, target));
+        return Math.max(minSize, Math.min(maxSize, target));
+    }
+
+    private double gradient(double usageMs) {
+        if (Double.isNaN(baselineUsageMs) || usageMs < baselineUsageMs) {
+            // Fast down, slow up: a quiet period resets the baseline at once
+            baselineUsageMs = usageMs;
+            return 1.0;
+        }
+        double result = usageMs <= 0 ? 1.0 : baselineUsageMs * latencyTolerance / usageMs;
+        baselineUsageMs += BASELINE_SMOOTHING * (usageMs - baselineUsageMs);
+        return Math.max(MIN_GRADIENT, Math.min(1.0, result));
+    }
+
+    /**
+     * Lowers the upper bound, e.g. to this instance's share of the database's
+     * {@code max_connections}. Never raises it above the configured maximum.
+     */
+    public void capMaxSize(int capacity) {
+        maxSize = Math.max(minSize, Math.min(maxSize, capacity));
+    }
+
+    /** Connections busy on average during the last interval. */
+    public double demand() {
+        return demand;
+    }
+
+    /** Last latency gradient, 1.0 when hold time is within tolerance. */
+    public double gradient() {
+        return gradient;
+    }
+
+    public int minSize() {
+        return minSize;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+}
@@ -0,0 +1,108 @@
+package com.benchmark.app.repository;
+
+import com.benchmark.app.dto.CustomerResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to the customers table for paths where loading managed
+ * entities into the persistence context is too expensive.
+ */
+@Repository
+public class CustomerJdbcRepository {
+
+    private static final String STREAM_SQL =
+            "SELECT id, first_name, last_name, email, created_at FROM customers WHERE id > ? ORDER BY id";
+    private static final String FIND_BY_IDS_SQL =
+            "SELECT id, first_name, last_name, email, created_at FROM customers WHERE id = ANY(?)";
+    private static final String FIND_BY_ID_SQL =
+            "SELECT id, first_name, last_name, email, created_at FROM customers WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate primaryTransaction;
+
+    public CustomerJdbcRepository(DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.customers.stream-fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Streams every customer with an id greater than {@code afterId}, in id order.
+     * The PostgreSQL driver only uses a forward-only server-side cursor when
+     * autocommit is off and a fetch size is set, so rows are read inside a
+     * read-only transaction and handed to the consumer one at a time.
+     */
+    public void streamAfter(long afterId, Consumer<CustomerResponse> consumer) {
+        readOnlyTransaction.executeWithoutResult(status ->
+                jdbcTemplate.query(STREAM_SQL, rs -> {
+                    consumer.accept(mapRow(rs));
+                }, afterId));
+    }
+
+    /**
+     * Loads the given customers with one query. The ids are bound as a single
+     * array parameter, so the statement text and its cached plan are the same
+     * for any number of ids. Unknown ids are absent from the result, which is
+     * in no particular order.
+     */
+    public List<CustomerResponse> findAllById(Collection<Long> ids) {
+        return findAllById(ids, readOnlyTransaction);
+    }
+
+    /**
+     * {@link #findAllById} on the primary, for cache fills: a replica that has
+     * yet to replay an update would put the old row in the cache for its whole TTL.
+     */
+    public List<CustomerResponse> findAllByIdOnPrimary(Collection<Long> ids) {
+        return findAllById(ids, primaryTransaction);
+    }
+
+    /**
+     * Single customer from the primary, for cache fills like {@link #findAllByIdOnPrimary}.
+     */
+    public Optional<CustomerResponse> findByIdOnPrimary(long id) {
+        List<CustomerResponse> rows = primaryTransaction.execute(status ->
+                jdbcTemplate.query(FIND_BY_ID_SQL, (rs, rowNum) -> mapRow(rs), id));
+        return rows.stream().findFirst();
+    }
+
+    private List<CustomerResponse> findAllById(Collection<Long> ids, TransactionTemplate transaction) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Long[] idArray = ids.toArray(new Long[0]);
+        return transaction.execute(status ->
+                jdbcTemplate.query(FIND_BY_IDS_SQL,
+                        ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", idArray)),
+                        (rs, rowNum) -> mapRow(rs)));
+    }
+
+    static CustomerResponse mapRow(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new CustomerResponse(
+                rs.getLong("id"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("email"),
+                createdAt != null ? createdAt.toInstant() : null
+        );
+    }
+}
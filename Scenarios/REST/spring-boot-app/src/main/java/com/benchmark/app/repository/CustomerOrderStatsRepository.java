@@ -0,0 +1,69 @@
+package com.benchmark.app.repository;
+
+import com.benchmark.app.dto.CustomerOrderSummary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to {@code customer_order_stats}, the per-customer order
+ * aggregates that the V6 insert trigger keeps current.
+ */
+@Repository
+public class CustomerOrderStatsRepository {
+
+    private static final String FIND_SQL =
+            "SELECT customer_id, order_count, total_amount, last_order_at FROM customer_order_stats WHERE customer_id = ?";
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM customer_order_stats WHERE customer_id BETWEEN ? AND ?";
+    private static final String REBUILD_RANGE_SQL =
+            "INSERT INTO customer_order_stats (customer_id, order_count, total_amount, last_order_at) " +
+            "SELECT customer_id, COUNT(*), SUM(amount), MAX(created_at) FROM orders " +
+            "WHERE customer_id BETWEEN ? AND ? GROUP BY customer_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomerOrderStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Single primary key lookup, however many orders the customer has. Empty
+     * when the customer has never ordered (or does not exist). Served by the
+     * read replica when one is configured.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CustomerOrderSummary> findByCustomerId(long customerId) {
+        List<CustomerOrderSummary> rows = jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> {
+            Timestamp lastOrderAt = rs.getTimestamp("last_order_at");
+            return new CustomerOrderSummary(
+                    rs.getLong("customer_id"),
+                    rs.getLong("order_count"),
+                    rs.getBigDecimal("total_amount"),
+                    lastOrderAt != null ? lastOrderAt.toInstant() : null
+            );
+        }, customerId);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Recomputes the aggregates of customers {@code fromId..toId} from
+     * {@code orders} (a range scan of the customer_id index). Must run in
+     * a transaction that keeps concurrent order inserts out of the range.
+     *
+     * @return number of customers with orders in the range
+     */
+    public int rebuildRange(long fromId, long toId) {
+        jdbcTemplate.update(DELETE_RANGE_SQL, fromId, toId);
+        return jdbcTemplate.update(REBUILD_RANGE_SQL, fromId, toId);
+    }
+
+    public long maxCustomerId() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM customers", Long.class);
+        return maxId != null ? maxId : 0L;
+    }
+}
@@ -1,29 +1,81 @@
 package com.benchmark.app.repository;
 
 import com.benchmark.app.entity.Customer;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+/**
+ * The read queries below are read-only transactions of their own, so callers
+ * need no {@code @Transactional}, and with a read replica configured they are
+ * served by the replica. Lookups that validate a write stay on the primary.
+ */
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
+    /**
+     * Read-write on purpose: {@code POST /orders} checks a customer that may have
+     * been created a moment ago, so with a read replica configured this must read
+     * the primary, not a replica that has yet to replay the insert.
+     */
+    @Override
+    @Transactional
+    boolean existsById(Long id);
+
+    /**
+     * Keyset page: the next {@code limit} customers after {@code afterId} in id order.
+     * Walks the primary key index, so the cost is the same for every page depth.
+     */
+    @Transactional(readOnly = true)
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
     /**
      * Search customers by name or email.
      * Note: This uses LIKE with wildcards which may not fully utilize indexes.
-     * For production use with large datasets, consider:
-     * - PostgreSQL trigram indexes (CREATE EXTENSION pg_trgm; CREATE INDEX ... USING gin)
-     * - Full-text search
-     * - Or prefix matching if search pattern allows
-     * 
-     * This implementation is intentionally kept simple for benchmarking purposes.
+     * Exact first/last name matches rank first; the page size comes from the caller.
+     * See {@link #searchCustomersTrigram} and {@link #searchCustomersFullText} for
+     * the index-backed PostgreSQL alternatives.
      */
+    @Transactional(readOnly = true)
     @Query("SELECT c FROM Customer c WHERE " +
            "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(c.email) LIKE LOWER(CONCAT('%', :search, '%'))")
-    List<Customer> searchCustomers(@Param("search") String search);
+           "LOWER(c.email) LIKE LOWER(CONCAT('%', :search, '%')) " +
+           "ORDER BY CASE WHEN LOWER(c.firstName) = LOWER(:search) " +
+           "OR LOWER(c.lastName) = LOWER(:search) THEN 0 ELSE 1 END, c.id")
+    List<Customer> searchCustomers(@Param("search") String search, Pageable pageable);
+
+    /**
+     * pg_trgm search: ILIKE on the raw columns is served by the gin_trgm_ops indexes
+     * from V3, results are ranked by best trigram similarity. PostgreSQL only.
+     */
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT c.id, c.first_name, c.last_name, c.email, c.created_at FROM customers c " +
+                   "WHERE c.first_name ILIKE :pattern OR c.last_name ILIKE :pattern OR c.email ILIKE :pattern " +
+                   "ORDER BY GREATEST(similarity(c.first_name, :search), similarity(c.last_name, :search), " +
+                   "similarity(c.email, :search)) DESC, c.id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Customer> searchCustomersTrigram(@Param("search") String search,
+                                          @Param("pattern") String pattern,
+                                          @Param("limit") int limit);
+
+    /**
+     * Full-text search over the generated search_vector column from V3, ranked by
+     * ts_rank. {@code query} must already be valid to_tsquery syntax. PostgreSQL only.
+     */
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT c.id, c.first_name, c.last_name, c.email, c.created_at " +
+                   "FROM customers c, to_tsquery('simple', :query) q " +
+                   "WHERE c.search_vector @@ q " +
+                   "ORDER BY ts_rank(c.search_vector, q) DESC, c.id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Customer> searchCustomersFullText(@Param("query") String query, @Param("limit") int limit);
 }
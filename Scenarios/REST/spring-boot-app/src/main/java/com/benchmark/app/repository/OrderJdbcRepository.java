@@ -0,0 +1,102 @@
+package com.benchmark.app.repository;
+
+import com.benchmark.app.entity.Order;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based JDBC access to orders for bulk ingestion. Multi-row INSERTs need
+ * far fewer statements than even batched {@link OrderRepository} saves, and
+ * skip building managed entities.
+ */
+@Repository
+public class OrderJdbcRepository {
+
+    private static final String INSERT_PREFIX = "INSERT INTO orders (customer_id, amount, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int insertChunkSize;
+    private final String fullChunkSql;
+
+    public OrderJdbcRepository(JdbcTemplate jdbcTemplate,
+                               @Value("${app.orders.batch.insert-chunk-size:500}") int insertChunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertChunkSize = insertChunkSize;
+        this.fullChunkSql = multiRowInsertSql(insertChunkSize);
+    }
+
+    /**
+     * Returns the subset of {@code customerIds} that exist, in a single
+     * {@code id = ANY(?)} query regardless of how many ids are passed.
+     */
+    public Set<Long> findExistingCustomerIds(Collection<Long> customerIds) {
+        if (customerIds.isEmpty()) {
+            return Set.of();
+        }
+        Long[] ids = customerIds.toArray(new Long[0]);
+        List<Long> existing = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT id FROM customers WHERE id = ANY(?)");
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+        return new HashSet<>(existing);
+    }
+
+    /**
+     * Inserts the orders with multi-row {@code INSERT ... VALUES (...), (...)}
+     * statements of up to {@code app.orders.batch.insert-chunk-size} rows, sets
+     * their created_at and returns the generated ids in input order.
+     */
+    public List<Long> insertAll(List<Order> orders) {
+        List<Long> ids = new ArrayList<>(orders.size());
+        for (int from = 0; from < orders.size(); from += insertChunkSize) {
+            List<Order> chunk = orders.subList(from, Math.min(from + insertChunkSize, orders.size()));
+            String sql = chunk.size() == insertChunkSize ? fullChunkSql : multiRowInsertSql(chunk.size());
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+            Instant createdAt = Instant.now();
+
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                int index = 1;
+                for (Order order : chunk) {
+                    order.setCreatedAt(createdAt);
+                    ps.setLong(index++, order.getCustomerId());
+                    ps.setBigDecimal(index++, order.getAmount());
+                    ps.setTimestamp(index++, Timestamp.from(order.getCreatedAt()));
+                }
+                return ps;
+            }, keyHolder);
+
+            for (Map<String, Object> keys : keyHolder.getKeyList()) {
+                ids.add(((Number) keys.get("id")).longValue());
+            }
+        }
+        return ids;
+    }
+
+    private static String multiRowInsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDERS.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
+}
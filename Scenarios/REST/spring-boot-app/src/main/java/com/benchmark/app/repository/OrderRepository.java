@@ -1,9 +1,45 @@
 package com.benchmark.app.repository;
 
+import com.benchmark.app.dto.OrderResponse;
 import com.benchmark.app.entity.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    /**
+     * Newest orders of a customer, first page. Selects DTOs directly, so no
+     * managed {@link Order} entities are loaded, and is answered from the
+     * {@code (customer_id, created_at DESC, id DESC)} index from V7. Read-only,
+     * so it is served by the read replica when one is configured.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.benchmark.app.dto.OrderResponse(o.id, o.customerId, o.amount, o.createdAt) " +
+           "FROM Order o WHERE o.customerId = :customerId " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderResponse> findLatestByCustomerId(@Param("customerId") Long customerId, Limit limit);
+
+    /**
+     * Keyset page: the customer's orders strictly older than the
+     * {@code (before, beforeId)} cursor, i.e. the last row of the previous page.
+     * The row-value comparison is an index range start, so every page costs
+     * the same however deep it is. {@code beforeId} breaks ties between orders
+     * with the same created_at (a batch insert shares one timestamp).
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.benchmark.app.dto.OrderResponse(o.id, o.customerId, o.amount, o.createdAt) " +
+           "FROM Order o WHERE o.customerId = :customerId AND (o.createdAt, o.id) < (:before, :beforeId) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderResponse> findByCustomerIdBefore(@Param("customerId") Long customerId,
+                                               @Param("before") Instant before,
+                                               @Param("beforeId") Long beforeId,
+                                               Limit limit);
 }
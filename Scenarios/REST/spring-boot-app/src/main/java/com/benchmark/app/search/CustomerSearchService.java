@@ -0,0 +1,99 @@
+package com.benchmark.app.search;
+
+import com.benchmark.app.entity.Customer;
+import com.benchmark.app.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Runs customer searches against the configured {@link SearchBackend} and
+ * records per-backend latency as the {@code customer.search} timer.
+ */
+@Service
+public class CustomerSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerSearchService.class);
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final CustomerRepository customerRepository;
+    private final SearchBackend backend;
+    private final int maxResults;
+    private final Timer searchTimer;
+
+    public CustomerSearchService(CustomerRepository customerRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.search.backend:like}") String backend,
+                                 @Value("${app.search.max-results:100}") int maxResults) {
+        this.customerRepository = customerRepository;
+        this.backend = SearchBackend.fromProperty(backend);
+        this.maxResults = maxResults;
+        this.searchTimer = Timer.builder("customer.search")
+                .description("Customer search latency by backend")
+                .tag("backend", this.backend.tagValue())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        logger.info("Customer search backend: {} (max results {})", this.backend.tagValue(), maxResults);
+    }
+
+    /**
+     * Searches customers by name or email, best matches first.
+     *
+     * @param term  the raw search term
+     * @param limit requested result count; capped at {@code app.search.max-results}
+     */
+    public List<Customer> search(String term, Integer limit) {
+        String search = term.trim();
+        int resultLimit = (limit == null || limit <= 0) ? maxResults : Math.min(limit, maxResults);
+        return searchTimer.record(() -> execute(search, resultLimit));
+    }
+
+    private List<Customer> execute(String search, int limit) {
+        switch (backend) {
+            case TRIGRAM:
+                return customerRepository.searchCustomersTrigram(search, containsPattern(search), limit);
+            case FULLTEXT:
+                String query = prefixQuery(search);
+                if (query.isEmpty()) {
+                    return List.of();
+                }
+                return customerRepository.searchCustomersFullText(query, limit);
+            case LIKE:
+            default:
+                return customerRepository.searchCustomers(search, PageRequest.of(0, limit));
+        }
+    }
+
+    /**
+     * ILIKE pattern matching the term anywhere, with LIKE wildcards in the term escaped.
+     */
+    static String containsPattern(String search) {
+        String escaped = search
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * to_tsquery expression requiring every word of the term as a prefix,
+     * e.g. {@code "jo smi"} becomes {@code "jo:* & smi:*"}. Only letters and
+     * digits survive, so user input can never produce invalid tsquery syntax.
+     */
+    static String prefixQuery(String search) {
+        return Arrays.stream(NON_WORD.split(search.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,26 @@
+package com.benchmark.app.search;
+
+import java.util.Locale;
+
+/**
+ * Customer search implementations selectable with {@code app.search.backend}.
+ */
+public enum SearchBackend {
+
+    /** Portable LOWER(...) LIKE '%term%' query; sequential scan on large tables. */
+    LIKE,
+
+    /** pg_trgm GIN indexes with similarity ranking (PostgreSQL only). */
+    TRIGRAM,
+
+    /** Generated tsvector column with ts_rank ordering and prefix matching (PostgreSQL only). */
+    FULLTEXT;
+
+    public static SearchBackend fromProperty(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public String tagValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,23 @@
+package com.benchmark.app.service;
+
+import java.util.Locale;
+
+/**
+ * How {@code POST /orders} makes sure the customer exists, selectable with
+ * {@code app.orders.customer-check}.
+ */
+public enum CustomerCheck {
+
+    /** {@code existsById} then insert: two statements and two connection checkouts per order. */
+    EXISTS,
+
+    /** Insert directly and turn a {@code fk_customer} violation into the 400 response. */
+    FK,
+
+    /** Like {@link #FK}, but ids unknown to the local id-set are looked up first, so bad ids never reach INSERT. */
+    ID_SET;
+
+    public static CustomerCheck fromProperty(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,100 @@
+package com.benchmark.app.service;
+
+import com.benchmark.app.repository.CustomerOrderStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Backfills {@code customer_order_stats} from {@code orders}, e.g. for orders
+ * written before the V6 trigger existed or changed by hand.
+ *
+ * <p>Works through customer id ranges of {@code chunk-size}, one transaction
+ * each, so no single statement scans the whole orders table. On PostgreSQL
+ * each chunk holds a {@code SHARE} lock on {@code orders}: inserts wait for
+ * that chunk (milliseconds), and no order can be counted twice or missed
+ * between the recount and the trigger.
+ */
+@Service
+public class CustomerOrderStatsRebuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerOrderStatsRebuilder.class);
+
+    private final CustomerOrderStatsRepository statsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean postgres;
+    private final boolean rebuildOnStart;
+    private final long chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CustomerOrderStatsRebuilder(CustomerOrderStatsRepository statsRepository,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       DataSourceProperties dataSourceProperties,
+                                       @Value("${app.order-stats.rebuild-on-start:false}") boolean rebuildOnStart,
+                                       @Value("${app.order-stats.rebuild-chunk-size:10000}") long chunkSize) {
+        this.statsRepository = statsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        String url = dataSourceProperties.determineUrl();
+        this.postgres = url != null && url.startsWith("jdbc:postgresql:");
+        this.rebuildOnStart = rebuildOnStart;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Starts the backfill in the background once the application is up, so it
+     * serves traffic meanwhile. Summaries of customers not reached yet may be
+     * incomplete until it finishes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStart() {
+        if (!rebuildOnStart) {
+            return;
+        }
+        Thread thread = new Thread(this::rebuild, "order-stats-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Recomputes every customer's aggregates. Returns the number of customers
+     * with orders, or -1 if a rebuild is already running.
+     */
+    public long rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            return -1;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            long maxId = statsRepository.maxCustomerId();
+            long customers = 0;
+            for (long from = 0; from <= maxId; from += chunkSize) {
+                long fromId = from;
+                long toId = from + chunkSize - 1;
+                Integer rebuilt = transactionTemplate.execute(status -> {
+                    if (postgres) {
+                        jdbcTemplate.execute("LOCK TABLE orders IN SHARE MODE");
+                    }
+                    return statsRepository.rebuildRange(fromId, toId);
+                });
+                customers += rebuilt != null ? rebuilt : 0;
+            }
+            logger.info("Rebuilt order stats of {} customers (ids up to {}) in {} ms",
+                    customers, maxId, System.currentTimeMillis() - started);
+            return customers;
+        } finally {
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.benchmark.app.service;
+
+import com.benchmark.app.dto.OrderBatchItemResult;
+import com.benchmark.app.dto.OrderBatchResponse;
+import com.benchmark.app.dto.OrderRequest;
+import com.benchmark.app.entity.Order;
+import com.benchmark.app.repository.OrderJdbcRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk order ingestion: validates every item, checks all referenced customers
+ * with one query and inserts the valid orders with multi-row statements in a
+ * single transaction. Invalid items are reported per index instead of failing
+ * the whole batch.
+ */
+@Service
+public class OrderBatchService {
+
+    private final OrderJdbcRepository orderJdbcRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderBatchService(OrderJdbcRepository orderJdbcRepository,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager) {
+        this.orderJdbcRepository = orderJdbcRepository;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public OrderBatchResponse createOrders(List<OrderRequest> requests) {
+        OrderBatchItemResult[] results = new OrderBatchItemResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+        Set<Long> customerIds = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            OrderRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = OrderBatchItemResult.rejected(i, "Order is required");
+                continue;
+            }
+            Set<ConstraintViolation<OrderRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[i] = OrderBatchItemResult.rejected(i, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+                continue;
+            }
+            validIndexes.add(i);
+            customerIds.add(request.getCustomerId());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<Long> existingCustomerIds = orderJdbcRepository.findExistingCustomerIds(customerIds);
+            List<Order> orders = new ArrayList<>(validIndexes.size());
+            List<Integer> orderIndexes = new ArrayList<>(validIndexes.size());
+
+            for (int i : validIndexes) {
+                OrderRequest request = requests.get(i);
+                if (existingCustomerIds.contains(request.getCustomerId())) {
+                    orders.add(request.toEntity());
+                    orderIndexes.add(i);
+                } else {
+                    results[i] = OrderBatchItemResult.rejected(i,
+                        "Customer with ID " + request.getCustomerId() + " does not exist");
+                }
+            }
+
+            List<Long> orderIds = orderJdbcRepository.insertAll(orders);
+            for (int k = 0; k < orderIds.size(); k++) {
+                int index = orderIndexes.get(k);
+                results[index] = OrderBatchItemResult.created(index, orderIds.get(k));
+            }
+        });
+
+        return OrderBatchResponse.of(Arrays.asList(results));
+    }
+}
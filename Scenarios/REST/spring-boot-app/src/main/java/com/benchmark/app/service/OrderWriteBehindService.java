@@ -0,0 +1,297 @@
+package com.benchmark.app.service;
+
+import com.benchmark.app.dto.OrderAcceptedResponse;
+import com.benchmark.app.dto.OrderRequest;
+import com.benchmark.app.entity.Order;
+import com.benchmark.app.repository.OrderJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional write-behind path for {@code POST /orders}
+ * ({@code app.orders.write-mode=write-behind}).
+ *
+ * <p>Validated orders are put on a bounded queue and acknowledged with an
+ * accepted id straight away; a full queue is reported back so the caller can
+ * answer 429. A few writer threads group-commit the queue to {@code orders},
+ * flushing when {@code flush-size} rows are collected or {@code flush-interval-ms}
+ * after the first one, whichever comes first. Each flush checks all referenced
+ * customers with one query and inserts with multi-row statements.
+ *
+ * <p>Accepted orders live only in memory until flushed: a crash loses them, and
+ * orders for unknown customers are dropped at flush time (counted, not reported
+ * to the client). A group rejected by the database for a data error is bisected
+ * and retried, so only the offending orders are dropped. Remaining orders are
+ * flushed on graceful shutdown.
+ */
+@Service
+public class OrderWriteBehindService implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderWriteBehindService.class);
+    private static final long ERROR_LOG_THROTTLE_MS = 60_000L;
+
+    private final OrderJdbcRepository orderJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final BlockingQueue<PendingOrder> queue;
+    private final int writers;
+    private final int flushSize;
+    private final long flushIntervalMs;
+    private final long shutdownTimeoutMs;
+    private final DistributionSummary flushSizeSummary;
+    private final Timer flushLatency;
+    private final Counter rejected;
+    private final Counter droppedCustomerMissing;
+    private final Counter droppedError;
+    private final AtomicLong lastErrorLogMs = new AtomicLong(0L);
+
+    private volatile boolean running;
+    private List<Thread> writerThreads = List.of();
+
+    public OrderWriteBehindService(OrderJdbcRepository orderJdbcRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.orders.write-mode:sync}") String writeMode,
+                                   @Value("${app.orders.write-behind.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${app.orders.write-behind.writers:2}") int writers,
+                                   @Value("${app.orders.write-behind.flush-size:200}") int flushSize,
+                                   @Value("${app.orders.write-behind.flush-interval-ms:20}") long flushIntervalMs,
+                                   @Value("${app.orders.write-behind.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.orderJdbcRepository = orderJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = "write-behind".equals(writeMode.trim().toLowerCase(Locale.ROOT));
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writers = Math.max(1, writers);
+        this.flushSize = Math.max(1, flushSize);
+        this.flushIntervalMs = flushIntervalMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+
+        Gauge.builder("orders.writebehind.queue.depth", queue, BlockingQueue::size)
+                .description("Accepted orders waiting to be written")
+                .register(meterRegistry);
+        this.flushSizeSummary = DistributionSummary.builder("orders.writebehind.flush.size")
+                .description("Orders inserted per group commit")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("orders.writebehind.flush.latency")
+                .description("Time to check customers, insert and commit one group")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("orders.writebehind.rejected")
+                .description("Orders refused with 429 because the queue was full")
+                .register(meterRegistry);
+        this.droppedCustomerMissing = droppedCounter(meterRegistry, "customer_missing");
+        this.droppedError = droppedCounter(meterRegistry, "error");
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("orders.writebehind.dropped")
+                .description("Accepted orders that were never written")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues an already validated order. Returns empty when the queue is full.
+     */
+    public Optional<OrderAcceptedResponse> submit(OrderRequest request) {
+        PendingOrder pending = new PendingOrder(UUID.randomUUID().toString(), request.toEntity());
+        if (!queue.offer(pending)) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        return Optional.of(new OrderAcceptedResponse(pending.acceptedId, request.getCustomerId(), request.getAmount()));
+    }
+
+    /**
+     * Flushes everything currently queued on the calling thread.
+     */
+    public void flushQueued() {
+        List<PendingOrder> batch = new ArrayList<>(flushSize);
+        while (queue.drainTo(batch, flushSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void writerLoop() {
+        List<PendingOrder> batch = new ArrayList<>(flushSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingOrder first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < flushSize) {
+                    queue.drainTo(batch, flushSize - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= flushSize || remainingNanos <= 0 || !running) {
+                        break;
+                    }
+                    PendingOrder next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            flush(batch);
+        }
+    }
+
+    private void flush(List<PendingOrder> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            write(batch);
+        } finally {
+            sample.stop(flushLatency);
+        }
+    }
+
+    /**
+     * Writes one group in a single transaction. One bad row rolls back the whole
+     * group, so on a data error the group is split in halves and each half is
+     * retried until the offending orders are isolated and dropped. Other failures
+     * (connection loss, timeouts) would only repeat, so they drop the group as is.
+     */
+    private void write(List<PendingOrder> batch) {
+        try {
+            int missing = transactionTemplate.execute(status -> {
+                Set<Long> customerIds = new HashSet<>();
+                for (PendingOrder pending : batch) {
+                    customerIds.add(pending.order.getCustomerId());
+                }
+                Set<Long> existing = orderJdbcRepository.findExistingCustomerIds(customerIds);
+
+                List<Order> orders = new ArrayList<>(batch.size());
+                for (PendingOrder pending : batch) {
+                    if (existing.contains(pending.order.getCustomerId())) {
+                        orders.add(pending.order);
+                    } else {
+                        logger.debug("Dropping accepted order {}: customer {} does not exist",
+                                pending.acceptedId, pending.order.getCustomerId());
+                    }
+                }
+                orderJdbcRepository.insertAll(orders);
+                return batch.size() - orders.size();
+            });
+            flushSizeSummary.record(batch.size() - missing);
+            droppedCustomerMissing.increment(missing);
+        } catch (DataIntegrityViolationException ex) {
+            if (batch.size() == 1) {
+                PendingOrder pending = batch.get(0);
+                droppedError.increment();
+                throttleWarn("Dropping accepted order " + pending.acceptedId + " for customer "
+                        + pending.order.getCustomerId() + ": " + ex.getMessage());
+                return;
+            }
+            int half = batch.size() / 2;
+            write(batch.subList(0, half));
+            write(batch.subList(half, batch.size()));
+        } catch (RuntimeException ex) {
+            droppedError.increment(batch.size());
+            throttleWarn("write-behind flush of " + batch.size() + " orders failed: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        List<Thread> threads = new ArrayList<>(writers);
+        for (int i = 0; i < writers; i++) {
+            Thread thread = new Thread(this::writerLoop, "order-writer-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        writerThreads = threads;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+        for (Thread thread : writerThreads) {
+            try {
+                thread.join(Math.max(1L, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        writerThreads = List.of();
+        if (!queue.isEmpty()) {
+            logger.warn("{} accepted orders were not written before shutdown", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop after the web server, so requests accepted during graceful shutdown
+     * are still drained.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void throttleWarn(String message) {
+        long now = System.currentTimeMillis();
+        long last = lastErrorLogMs.get();
+        if (now - last >= ERROR_LOG_THROTTLE_MS && lastErrorLogMs.compareAndSet(last, now)) {
+            logger.warn(message);
+        }
+    }
+
+    private static class PendingOrder {
+        final String acceptedId;
+        final Order order;
+
+        private PendingOrder(String acceptedId, Order order) {
+            this.acceptedId = acceptedId;
+            this.order = order;
+        }
+    }
+}
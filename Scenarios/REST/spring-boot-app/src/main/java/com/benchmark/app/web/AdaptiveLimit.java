@@ -0,0 +1,109 @@
+package com.benchmark.app.web;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-flight request limit adjusted by AIMD, as in TCP congestion control.
+ *
+ * <ul>
+ *   <li>Additive increase: each request completed within {@code latencyTarget},
+ *       while at least half the limit is in use, adds {@code 1 / limit}. That
+ *       grows the limit by about one per round of requests.</li>
+ *   <li>Multiplicative decrease: a request slower than {@code latencyTarget}, or
+ *       one that failed, multiplies the limit by {@code backoffRatio}. This happens
+ *       at most once per {@code latencyTarget}, so a burst of slow completions
+ *       counts as a single congestion signal.</li>
+ * </ul>
+ *
+ * Lock-free: the limit and the in-flight count are CAS-updated atomics.
+ */
+public final class AdaptiveLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Double bits, so the additive step can be fractional
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecreaseNanos;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, long latencyTargetMs, double backoffRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMs);
+        this.backoffRatio = Math.min(Math.max(backoffRatio, 0.5), 0.99);
+        double initial = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initial));
+        this.lastDecreaseNanos = new AtomicLong(System.nanoTime() - latencyTargetNanos);
+    }
+
+    /**
+     * Takes an in-flight slot, or returns false if the limit is reached.
+     * Every successful call must be paired with {@link #release}.
+     */
+    public boolean tryAcquire() {
+        int limit = limit();
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Frees the slot and feeds the request's outcome into the limit.
+     *
+     * @param latencyNanos time the request held the slot
+     * @param failed       the request ended with an exception or a 5xx
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (failed || latencyNanos > latencyTargetNanos) {
+            decrease();
+        } else if (inFlightBefore * 2 >= limit()) {
+            increase();
+        }
+    }
+
+    private void increase() {
+        long bits;
+        double next;
+        do {
+            bits = limitBits.get();
+            double current = Double.longBitsToDouble(bits);
+            if (current >= maxLimit) {
+                return;
+            }
+            next = Math.min(maxLimit, current + 1.0 / current);
+        } while (!limitBits.compareAndSet(bits, Double.doubleToLongBits(next)));
+    }
+
+    private void decrease() {
+        long now = System.nanoTime();
+        long last = lastDecreaseNanos.get();
+        if (now - last < latencyTargetNanos || !lastDecreaseNanos.compareAndSet(last, now)) {
+            return;
+        }
+        long bits;
+        double next;
+        do {
+            bits = limitBits.get();
+            next = Math.max(minLimit, Double.longBitsToDouble(bits) * backoffRatio);
+        } while (!limitBits.compareAndSet(bits, Double.doubleToLongBits(next)));
+    }
+
+    public int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
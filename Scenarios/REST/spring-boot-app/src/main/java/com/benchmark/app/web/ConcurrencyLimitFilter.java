@@ -0,0 +1,128 @@
+package com.benchmark.app.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds load in front of the REST controllers once the in-flight request count
+ * reaches an {@link AdaptiveLimit}. Reads ({@code GET /customers}) and writes
+ * ({@code POST /customers}, {@code POST /orders}) have separate budgets, so a
+ * write backlog cannot starve cheap reads. Rejected requests get an immediate
+ * 503 with {@code Retry-After} instead of queueing behind the database, which
+ * with virtual threads has no other bound.
+ *
+ * <p>NDJSON streams ({@code stream=true}) and actuator calls are not limited.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String REJECTED_BODY = "Server is at its concurrency limit, retry later";
+
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+    private final Budget reads;
+    private final Budget writes;
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                  @Value("${app.concurrency-limit.enabled:false}") boolean enabled,
+                                  @Value("${app.concurrency-limit.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${app.concurrency-limit.retry-after-seconds:1}") int retryAfterSeconds,
+                                  @Value("${app.concurrency-limit.reads.initial:200}") int readsInitial,
+                                  @Value("${app.concurrency-limit.reads.min:20}") int readsMin,
+                                  @Value("${app.concurrency-limit.reads.max:2000}") int readsMax,
+                                  @Value("${app.concurrency-limit.reads.latency-target-ms:100}") long readsLatencyTargetMs,
+                                  @Value("${app.concurrency-limit.writes.initial:100}") int writesInitial,
+                                  @Value("${app.concurrency-limit.writes.min:10}") int writesMin,
+                                  @Value("${app.concurrency-limit.writes.max:1000}") int writesMax,
+                                  @Value("${app.concurrency-limit.writes.latency-target-ms:250}") long writesLatencyTargetMs) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = Integer.toString(retryAfterSeconds);
+        this.reads = new Budget("read", new AdaptiveLimit(readsInitial, readsMin, readsMax,
+                readsLatencyTargetMs, backoffRatio), meterRegistry, enabled);
+        this.writes = new Budget("write", new AdaptiveLimit(writesInitial, writesMin, writesMax,
+                writesLatencyTargetMs, backoffRatio), meterRegistry, enabled);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || budget(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Budget budget = budget(request);
+        AdaptiveLimit limit = budget.limit;
+        if (!limit.tryAcquire()) {
+            budget.rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write(REJECTED_BODY);
+            return;
+        }
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limit.release(System.nanoTime() - started, failed);
+        }
+    }
+
+    private Budget budget(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        if (path.equals("/customers") || path.startsWith("/customers/")) {
+            if ("GET".equals(method)) {
+                return "true".equals(request.getParameter("stream")) ? null : reads;
+            }
+            return "POST".equals(method) ? writes : null;
+        }
+        if ((path.equals("/orders") || path.startsWith("/orders/")) && "POST".equals(method)) {
+            return writes;
+        }
+        return null;
+    }
+
+    private static final class Budget {
+
+        final AdaptiveLimit limit;
+        final Counter rejected;
+
+        Budget(String name, AdaptiveLimit limit, MeterRegistry meterRegistry, boolean enabled) {
+            this.limit = limit;
+            this.rejected = Counter.builder("http.concurrency.rejected")
+                    .description("Requests rejected with 503 because the in-flight limit was reached")
+                    .tag("budget", name)
+                    .register(meterRegistry);
+            if (enabled) {
+                Gauge.builder("http.concurrency.limit", limit, AdaptiveLimit::limit)
+                        .description("Current adaptive in-flight request limit")
+                        .tag("budget", name)
+                        .register(meterRegistry);
+                Gauge.builder("http.concurrency.inflight", limit, AdaptiveLimit::inFlight)
+                        .description("Requests currently holding a slot in the limit")
+                        .tag("budget", name)
+                        .register(meterRegistry);
+            }
+        }
+    }
+}
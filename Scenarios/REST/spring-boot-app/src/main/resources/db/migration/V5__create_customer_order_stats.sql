@@ -0,0 +1,10 @@
+-- Per-customer order aggregates, kept current by the V6 insert trigger (see db/vendor)
+-- so GET /customers/{id}/orders/summary is a primary key lookup instead of SUM() over orders.
+-- No foreign key: the table is derived data, and a key check would add a customers lookup
+-- to every order insert.
+CREATE TABLE customer_order_stats (
+    customer_id BIGINT PRIMARY KEY,
+    order_count BIGINT NOT NULL,
+    total_amount DECIMAL(19, 2) NOT NULL,
+    last_order_at TIMESTAMP NOT NULL
+);
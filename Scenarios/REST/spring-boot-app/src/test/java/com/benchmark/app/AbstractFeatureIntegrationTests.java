@@ -0,0 +1,22 @@
+package com.benchmark.app;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Context with the data path features switched on: customer cache, the
+ * {@code id-set} customer check, read replica routing (to the same in-memory
+ * database) and pool autotuning.
+ */
+@TestPropertySource(properties = {
+    "app.customer-cache.enabled=true",
+    "app.orders.customer-check=id-set",
+    "app.datasource.replica.enabled=true",
+    "app.datasource.replica.url=jdbc:h2:mem:testdb",
+    "app.db-pool.autotune.enabled=true",
+    "app.db-pool.autotune.interval-ms=100",
+    "app.db-pool.autotune.min-size=2",
+    "spring.datasource.hikari.maximum-pool-size=10",
+    "spring.datasource.hikari.minimum-idle=4"
+})
+public abstract class AbstractFeatureIntegrationTests extends AbstractWebIntegrationTests {
+}
@@ -0,0 +1,22 @@
+package com.benchmark.app;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Context with the diagnostics switched on: continuous JFR, database stats, SQL
+ * metrics sampling every statement, virtual thread metrics and the concurrency
+ * limit, with the opt-in actuator endpoints exposed.
+ */
+@TestPropertySource(properties = {
+    "app.jfr.enabled=true",
+    "app.jfr.max-age-minutes=2",
+    "app.db-stats.enabled=true",
+    "app.sql-metrics.enabled=true",
+    "app.sql-metrics.slow-query-threshold-ms=0",
+    "app.sql-metrics.slow-query-buffer-size=100000",
+    "app.vthreads.metrics.enabled=true",
+    "app.concurrency-limit.enabled=true",
+    "management.endpoints.web.exposure.include=health,metrics,prometheus,info,slowqueries,flightrecording"
+})
+public abstract class AbstractMonitoringIntegrationTests extends AbstractWebIntegrationTests {
+}
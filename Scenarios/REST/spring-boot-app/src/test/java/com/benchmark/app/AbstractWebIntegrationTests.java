@@ -0,0 +1,26 @@
+package com.benchmark.app;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+/**
+ * Full application on a random port. Subclasses with the same configuration share
+ * one cached context, so feature switches are grouped into a few subclasses
+ * ({@link AbstractFeatureIntegrationTests}, {@link AbstractMonitoringIntegrationTests})
+ * instead of a {@code @TestPropertySource} per test class.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public abstract class AbstractWebIntegrationTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    protected TestRestTemplate restTemplate;
+
+    protected String baseUrl() {
+        return "http://localhost:" + port;
+    }
+}
@@ -2,32 +2,52 @@ package com.benchmark.app;
 
 import com.benchmark.app.dto.CustomerRequest;
 import com.benchmark.app.dto.CustomerResponse;
+import com.benchmark.app.dto.OrderAcceptedResponse;
+import com.benchmark.app.dto.OrderBatchItemResult;
+import com.benchmark.app.dto.OrderBatchResponse;
 import com.benchmark.app.dto.OrderRequest;
 import com.benchmark.app.dto.OrderResponse;
+import com.benchmark.app.entity.Order;
+import com.benchmark.app.repository.OrderRepository;
+import com.benchmark.app.service.CustomerOrderStatsRebuilder;
+import com.benchmark.app.service.OrderWriteBehindService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.web.client.TestRestTemplate;
-import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
-class BenchmarkApplicationTests {
+class BenchmarkApplicationTests extends AbstractWebIntegrationTests {
 
-    @LocalServerPort
-    private int port;
+    @Autowired
+    private OrderRepository orderRepository;
 
     @Autowired
-    private TestRestTemplate restTemplate;
+    private EntityManagerFactory entityManagerFactory;
 
-    private String baseUrl() {
-        return "http://localhost:" + port;
-    }
+    @Autowired
+    private OrderWriteBehindService orderWriteBehindService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerOrderStatsRebuilder customerOrderStatsRebuilder;
 
     @Test
     void contextLoads() {
@@ -61,11 +81,11 @@ class BenchmarkApplicationTests {
         
         assertThat(createResponse.getStatusCode()).isEqualTo(HttpStatus.CREATED);
         assertThat(createResponse.getBody()).isNotNull();
-        assertThat(createResponse.getBody().getId()).isNotNull();
-        assertThat(createResponse.getBody().getFirstName()).isEqualTo("Test");
+        assertThat(createResponse.getBody().id()).isNotNull();
+        assertThat(createResponse.getBody().firstName()).isEqualTo("Test");
         
         // Get customer by ID
-        Long customerId = createResponse.getBody().getId();
+        Long customerId = createResponse.getBody().id();
         ResponseEntity<CustomerResponse> getResponse = restTemplate.getForEntity(
             baseUrl() + "/customers/" + customerId,
             CustomerResponse.class
@@ -73,8 +93,8 @@ class BenchmarkApplicationTests {
         
         assertThat(getResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(getResponse.getBody()).isNotNull();
-        assertThat(getResponse.getBody().getId()).isEqualTo(customerId);
-        assertThat(getResponse.getBody().getEmail()).isEqualTo(request.getEmail());
+        assertThat(getResponse.getBody().id()).isEqualTo(customerId);
+        assertThat(getResponse.getBody().email()).isEqualTo(request.getEmail());
     }
 
     @Test
@@ -102,7 +122,70 @@ class BenchmarkApplicationTests {
         assertThat(searchResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(searchResponse.getBody()).isNotNull();
         assertThat(searchResponse.getBody()).hasSizeGreaterThan(0);
-        assertThat(searchResponse.getBody()[0].getFirstName()).isEqualTo(uniqueName);
+        assertThat(searchResponse.getBody()[0].firstName()).isEqualTo(uniqueName);
+    }
+
+    @Test
+    void testKeysetPaginationOfCustomers() {
+        String prefix = "page" + System.currentTimeMillis();
+        Long firstId = null;
+        for (int i = 0; i < 3; i++) {
+            ResponseEntity<CustomerResponse> created = restTemplate.postForEntity(
+                baseUrl() + "/customers",
+                new CustomerRequest("Page", "User" + i, prefix + i + "@example.com"),
+                CustomerResponse.class
+            );
+            if (firstId == null) {
+                firstId = created.getBody().id();
+            }
+        }
+
+        ResponseEntity<CustomerResponse[]> page = restTemplate.getForEntity(
+            baseUrl() + "/customers?afterId=" + (firstId - 1) + "&limit=2",
+            CustomerResponse[].class
+        );
+
+        assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(page.getBody()).hasSize(2);
+        assertThat(page.getBody()[0].id()).isEqualTo(firstId);
+        assertThat(page.getBody()[1].id()).isGreaterThan(firstId);
+        assertThat(page.getHeaders().getFirst("X-Next-After-Id"))
+            .isEqualTo(String.valueOf(page.getBody()[1].id()));
+    }
+
+    @Test
+    void testStreamCustomersAsNdjson() {
+        String email = "stream" + System.currentTimeMillis() + "@example.com";
+        ResponseEntity<CustomerResponse> created = restTemplate.postForEntity(
+            baseUrl() + "/customers",
+            new CustomerRequest("Stream", "User", email),
+            CustomerResponse.class
+        );
+        Long customerId = created.getBody().id();
+
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            baseUrl() + "/customers?stream=true&afterId=" + (customerId - 1),
+            String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("application/x-ndjson");
+        String[] lines = response.getBody().trim().split("\n");
+        assertThat(lines[0]).contains("\"id\":" + customerId).contains(email);
+    }
+
+    @Test
+    void testResponseSerializersMatchBeanOutput() throws Exception {
+        Instant createdAt = Instant.parse("2024-05-01T10:15:30.123456Z");
+
+        assertThat(objectMapper.writeValueAsString(
+            new CustomerResponse(7L, "Ada", "Lovelace \"AL\"", null, createdAt)))
+            .isEqualTo("{\"id\":7,\"firstName\":\"Ada\",\"lastName\":\"Lovelace \\\"AL\\\"\","
+                + "\"email\":null,\"createdAt\":\"2024-05-01T10:15:30.123456Z\"}");
+        assertThat(objectMapper.writeValueAsString(
+            new OrderResponse(9L, 7L, new BigDecimal("10.50"), createdAt)))
+            .isEqualTo("{\"id\":9,\"customerId\":7,\"amount\":10.50,"
+                + "\"createdAt\":\"2024-05-01T10:15:30.123456Z\"}");
     }
 
     @Test
@@ -120,7 +203,7 @@ class BenchmarkApplicationTests {
             CustomerResponse.class
         );
         
-        Long customerId = customerResponse.getBody().getId();
+        Long customerId = customerResponse.getBody().id();
         
         // Create order
         OrderRequest orderRequest = new OrderRequest(customerId, new BigDecimal("99.99"));
@@ -133,9 +216,111 @@ class BenchmarkApplicationTests {
         
         assertThat(orderResponse.getStatusCode()).isEqualTo(HttpStatus.CREATED);
         assertThat(orderResponse.getBody()).isNotNull();
-        assertThat(orderResponse.getBody().getId()).isNotNull();
-        assertThat(orderResponse.getBody().getCustomerId()).isEqualTo(customerId);
-        assertThat(orderResponse.getBody().getAmount()).isEqualByComparingTo(new BigDecimal("99.99"));
+        assertThat(orderResponse.getBody().id()).isNotNull();
+        assertThat(orderResponse.getBody().customerId()).isEqualTo(customerId);
+        assertThat(orderResponse.getBody().amount()).isEqualByComparingTo(new BigDecimal("99.99"));
+    }
+
+    @Test
+    void testOrderInsertsAreBatched() {
+        ResponseEntity<CustomerResponse> customerResponse = restTemplate.postForEntity(
+            baseUrl() + "/customers",
+            new CustomerRequest("Pooled", "Ids", "pooled" + System.currentTimeMillis() + "@example.com"),
+            CustomerResponse.class
+        );
+        Long customerId = customerResponse.getBody().id();
+        List<Order> orders = IntStream.range(0, 100)
+            .mapToObj(i -> new Order(customerId, new BigDecimal("1.00")))
+            .collect(Collectors.toList());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        orderRepository.saveAll(orders);
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(100);
+        // Pooled-lo ids let Hibernate batch the INSERTs (batch_size 20) instead of one per order
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+        assertThat(orders).extracting(Order::getId).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void testOrderSummaryFollowsInserts() {
+        Long customerId = restTemplate.postForEntity(
+            baseUrl() + "/customers",
+            new CustomerRequest("Summary", "User", "summary" + System.currentTimeMillis() + "@example.com"),
+            CustomerResponse.class
+        ).getBody().id();
+        String summaryUrl = baseUrl() + "/customers/" + customerId + "/orders/summary";
+
+        ResponseEntity<JsonNode> empty = restTemplate.getForEntity(summaryUrl, JsonNode.class);
+        assertThat(empty.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(empty.getBody().path("orderCount").asLong()).isZero();
+        assertThat(empty.getBody().path("lastOrderAt").isNull()).isTrue();
+
+        // Single inserts and multi-row batch inserts both go through the trigger
+        restTemplate.postForEntity(baseUrl() + "/orders",
+            new OrderRequest(customerId, new BigDecimal("10.00")), OrderResponse.class);
+        restTemplate.postForEntity(baseUrl() + "/orders/batch",
+            List.of(new OrderRequest(customerId, new BigDecimal("5.00")),
+                new OrderRequest(customerId, new BigDecimal("2.50"))),
+            OrderBatchResponse.class);
+
+        JsonNode summary = restTemplate.getForEntity(summaryUrl, JsonNode.class).getBody();
+        assertThat(summary.path("orderCount").asLong()).isEqualTo(3);
+        assertThat(summary.path("totalAmount").decimalValue()).isEqualByComparingTo("17.50");
+        assertThat(summary.path("lastOrderAt").isNull()).isFalse();
+
+        // A rebuild from orders lands on the same aggregates
+        assertThat(customerOrderStatsRebuilder.rebuild()).isPositive();
+        JsonNode rebuilt = restTemplate.getForEntity(summaryUrl, JsonNode.class).getBody();
+        assertThat(rebuilt.path("orderCount").asLong()).isEqualTo(3);
+        assertThat(rebuilt.path("totalAmount").decimalValue()).isEqualByComparingTo("17.50");
+
+        ResponseEntity<String> unknown = restTemplate.getForEntity(
+            baseUrl() + "/customers/" + Long.MAX_VALUE + "/orders/summary", String.class);
+        assertThat(unknown.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void testOrderHistoryKeysetPagination() {
+        Long customerId = restTemplate.postForEntity(
+            baseUrl() + "/customers",
+            new CustomerRequest("History", "User", "history" + System.currentTimeMillis() + "@example.com"),
+            CustomerResponse.class
+        ).getBody().id();
+        restTemplate.postForEntity(baseUrl() + "/orders",
+            new OrderRequest(customerId, new BigDecimal("1.00")), OrderResponse.class);
+        // A batch chunk shares one created_at, so paging must fall back to the id tie-break
+        restTemplate.postForEntity(baseUrl() + "/orders/batch",
+            IntStream.range(0, 4).mapToObj(i -> new OrderRequest(customerId, new BigDecimal("2.00"))).toList(),
+            OrderBatchResponse.class);
+
+        List<Long> seen = new ArrayList<>();
+        String url = baseUrl() + "/customers/" + customerId + "/orders?limit=2";
+        while (url != null) {
+            ResponseEntity<OrderResponse[]> page = restTemplate.getForEntity(url, OrderResponse[].class);
+            assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(page.getBody()).hasSizeLessThanOrEqualTo(2);
+            for (OrderResponse order : page.getBody()) {
+                assertThat(order.customerId()).isEqualTo(customerId);
+                seen.add(order.id());
+            }
+            String before = page.getHeaders().getFirst("X-Next-Before");
+            url = before == null ? null : baseUrl() + "/customers/" + customerId + "/orders?limit=2"
+                + "&before=" + before + "&beforeId=" + page.getHeaders().getFirst("X-Next-Before-Id");
+        }
+
+        assertThat(seen).hasSize(5).doesNotHaveDuplicates();
+        // The batch was inserted last, so its orders come first, newest id first
+        assertThat(seen.subList(0, 4)).isSortedAccordingTo(Comparator.reverseOrder());
+
+        ResponseEntity<String> unknown = restTemplate.getForEntity(
+            baseUrl() + "/customers/" + Long.MAX_VALUE + "/orders", String.class);
+        assertThat(unknown.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        ResponseEntity<String> unknownPage = restTemplate.getForEntity(
+            baseUrl() + "/customers/" + Long.MAX_VALUE + "/orders?before=" + Instant.now(), String.class);
+        assertThat(unknownPage.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 
     @Test
@@ -153,6 +338,79 @@ class BenchmarkApplicationTests {
         assertThat(response.getBody()).contains("does not exist");
     }
 
+    @Test
+    void testCreateOrderBatch() {
+        ResponseEntity<CustomerResponse> customerResponse = restTemplate.postForEntity(
+            baseUrl() + "/customers",
+            new CustomerRequest("Batch", "Test", "batch" + System.currentTimeMillis() + "@example.com"),
+            CustomerResponse.class
+        );
+        Long customerId = customerResponse.getBody().id();
+
+        List<OrderRequest> batch = List.of(
+            new OrderRequest(customerId, new BigDecimal("10.00")),
+            new OrderRequest(999999L, new BigDecimal("20.00")),
+            new OrderRequest(customerId, new BigDecimal("-1.00")),
+            new OrderRequest(customerId, new BigDecimal("30.00")),
+            // Would overflow DECIMAL(10, 2) and abort the multi-row insert if it got that far
+            new OrderRequest(customerId, new BigDecimal("123456789.00"))
+        );
+
+        ResponseEntity<OrderBatchResponse> response = restTemplate.postForEntity(
+            baseUrl() + "/orders/batch",
+            batch,
+            OrderBatchResponse.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().created()).isEqualTo(2);
+        assertThat(response.getBody().rejected()).isEqualTo(3);
+        List<OrderBatchItemResult> results = response.getBody().results();
+        assertThat(results).extracting(OrderBatchItemResult::status)
+            .containsExactly("CREATED", "REJECTED", "REJECTED", "CREATED", "REJECTED");
+        assertThat(results.get(0).orderId()).isNotNull();
+        assertThat(results.get(3).orderId()).isGreaterThan(results.get(0).orderId());
+        assertThat(results.get(1).error()).contains("does not exist");
+        assertThat(results.get(2).error()).contains("Amount must be positive");
+        assertThat(results.get(4).index()).isEqualTo(4);
+        assertThat(results.get(4).error()).contains("8 integer digits");
+    }
+
+    @Test
+    void testWriteBehindGroupCommit() {
+        ResponseEntity<CustomerResponse> customerResponse = restTemplate.postForEntity(
+            baseUrl() + "/customers",
+            new CustomerRequest("Write", "Behind", "writebehind" + System.currentTimeMillis() + "@example.com"),
+            CustomerResponse.class
+        );
+        Long customerId = customerResponse.getBody().id();
+        long ordersBefore = orderRepository.count();
+
+        Optional<OrderAcceptedResponse> first = orderWriteBehindService.submit(
+            new OrderRequest(customerId, new BigDecimal("5.00")));
+        Optional<OrderAcceptedResponse> missingCustomer = orderWriteBehindService.submit(
+            new OrderRequest(999999L, new BigDecimal("6.00")));
+        Optional<OrderAcceptedResponse> second = orderWriteBehindService.submit(
+            new OrderRequest(customerId, new BigDecimal("7.00")));
+        // Bypasses the controller's @Valid: overflows DECIMAL(10, 2) and fails its group's insert
+        Optional<OrderAcceptedResponse> overflow = orderWriteBehindService.submit(
+            new OrderRequest(customerId, new BigDecimal("123456789.00")));
+        Optional<OrderAcceptedResponse> third = orderWriteBehindService.submit(
+            new OrderRequest(customerId, new BigDecimal("8.00")));
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getStatus()).isEqualTo(OrderAcceptedResponse.ACCEPTED);
+        assertThat(first.get().getAcceptedId()).isNotEqualTo(second.get().getAcceptedId());
+        assertThat(missingCustomer).isPresent();
+        assertThat(overflow).isPresent();
+        assertThat(third).isPresent();
+
+        orderWriteBehindService.flushQueued();
+
+        // The unknown customer's order is dropped, and bisecting the failed group drops only the overflow
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 3);
+    }
+
     @Test
     void testGetNonExistentCustomer() {
         ResponseEntity<CustomerResponse> response = restTemplate.getForEntity(
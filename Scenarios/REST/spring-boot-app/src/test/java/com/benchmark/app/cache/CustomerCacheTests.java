@@ -0,0 +1,116 @@
+package com.benchmark.app.cache;
+
+import com.benchmark.app.AbstractFeatureIntegrationTests;
+import com.benchmark.app.dto.CustomerRequest;
+import com.benchmark.app.dto.CustomerResponse;
+import com.benchmark.app.entity.Customer;
+import com.benchmark.app.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerCacheTests extends AbstractFeatureIntegrationTests {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Test
+    void testCustomerCacheServesRepeatedReads() {
+        ResponseEntity<CustomerResponse> created = restTemplate.postForEntity(
+            baseUrl() + "/customers",
+            new CustomerRequest("Cache", "User", "cache" + System.currentTimeMillis() + "@example.com"),
+            CustomerResponse.class
+        );
+        Long customerId = created.getBody().id();
+
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<CustomerResponse> response = restTemplate.getForEntity(
+                baseUrl() + "/customers/" + customerId,
+                CustomerResponse.class
+            );
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().id()).isEqualTo(customerId);
+        }
+
+        ResponseEntity<JsonNode> hits = restTemplate.getForEntity(
+            baseUrl() + "/actuator/metrics/cache.gets?tag=cache:customers&tag=result:hit",
+            JsonNode.class
+        );
+        assertThat(hits.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(hits.getBody().path("measurements").get(0).path("value").asDouble())
+            .isGreaterThanOrEqualTo(2.0);
+    }
+
+    @Test
+    void testCustomerUpdateInvalidatesCache() {
+        ResponseEntity<CustomerResponse> created = restTemplate.postForEntity(
+            baseUrl() + "/customers",
+            new CustomerRequest("Before", "Update", "update" + System.currentTimeMillis() + "@example.com"),
+            CustomerResponse.class
+        );
+        Long customerId = created.getBody().id();
+        assertThat(restTemplate.getForEntity(baseUrl() + "/customers/" + customerId, CustomerResponse.class)
+            .getBody().firstName()).isEqualTo("Before");
+
+        Customer customer = customerRepository.findById(customerId).orElseThrow();
+        customer.setFirstName("After");
+        customerRepository.save(customer);
+
+        ResponseEntity<CustomerResponse> response = restTemplate.getForEntity(
+            baseUrl() + "/customers/" + customerId,
+            CustomerResponse.class
+        );
+        assertThat(response.getBody().firstName()).isEqualTo("After");
+    }
+
+    @Test
+    void testBatchLookupServesCachedIdsAndKeepsRequestOrder() {
+        Long cachedId = customerRepository.save(
+            new Customer("Lookup", "Stored", "lookup-cached" + System.currentTimeMillis() + "@example.com")
+        ).getId();
+        Long storedId = customerRepository.save(
+            new Customer("Lookup", "Stored", "lookup-stored" + System.currentTimeMillis() + "@example.com")
+        ).getId();
+        long missingId = Long.MAX_VALUE;
+        // Differs from the row, so the response shows whether the id reached the database
+        customerCache.put(new CustomerResponse(cachedId, "Lookup", "Cached", "cached@example.com", Instant.now()));
+
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity(
+            baseUrl() + "/customers?ids=" + storedId + "," + missingId + "," + cachedId + "," + storedId,
+            JsonNode.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode results = response.getBody().path("results");
+        assertThat(response.getBody().path("found").asInt()).isEqualTo(3);
+        assertThat(response.getBody().path("missing").asInt()).isEqualTo(1);
+        assertThat(results.size()).isEqualTo(4);
+        assertThat(results.get(0).path("customer").path("id").asLong()).isEqualTo(storedId);
+        assertThat(results.get(1).path("id").asLong()).isEqualTo(missingId);
+        assertThat(results.get(1).path("found").asBoolean()).isFalse();
+        assertThat(results.get(1).path("customer").isNull()).isTrue();
+        assertThat(results.get(2).path("customer").path("lastName").asText()).isEqualTo("Cached");
+        assertThat(results.get(3).path("customer").path("id").asLong()).isEqualTo(storedId);
+        // The loaded customer is cached for the next lookup, the missing id is not
+        assertThat(customerCache.getIfPresent(storedId)).isPresent();
+        assertThat(customerCache.getIfPresent(missingId)).isEmpty();
+
+        String tooMany = IntStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        ResponseEntity<String> rejected = restTemplate.getForEntity(
+            baseUrl() + "/customers?ids=" + tooMany,
+            String.class
+        );
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,100 @@
+package com.benchmark.app.controller;
+
+import com.benchmark.app.AbstractFeatureIntegrationTests;
+import com.benchmark.app.cache.KnownCustomerIds;
+import com.benchmark.app.dto.CustomerRequest;
+import com.benchmark.app.dto.CustomerResponse;
+import com.benchmark.app.dto.OrderRequest;
+import com.benchmark.app.dto.OrderResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderIdSetCustomerCheckTests extends AbstractFeatureIntegrationTests {
+
+    @Autowired
+    private KnownCustomerIds knownCustomerIds;
+
+    private Long createCustomer(String prefix) {
+        return restTemplate.postForEntity(
+            baseUrl() + "/customers",
+            new CustomerRequest("IdSet", "User", prefix + System.currentTimeMillis() + "@example.com"),
+            CustomerResponse.class
+        ).getBody().id();
+    }
+
+    @Test
+    void testCreateOrderForKnownCustomer() {
+        Long customerId = createCustomer("idset");
+        assertThat(knownCustomerIds.contains(customerId)).isTrue();
+
+        ResponseEntity<OrderResponse> response = restTemplate.postForEntity(
+            baseUrl() + "/orders",
+            new OrderRequest(customerId, new BigDecimal("42.00")),
+            OrderResponse.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().customerId()).isEqualTo(customerId);
+    }
+
+    @Test
+    void testCreateOrderTranslatesForeignKeyViolation() {
+        // A stale id-set entry skips the lookup, so the fk_customer constraint has to reject it
+        long staleCustomerId = 999998L;
+        knownCustomerIds.add(staleCustomerId);
+
+        ResponseEntity<String> response = restTemplate.postForEntity(
+            baseUrl() + "/orders",
+            new OrderRequest(staleCustomerId, new BigDecimal("12.34")),
+            String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("does not exist");
+        assertThat(knownCustomerIds.contains(staleCustomerId)).isFalse();
+    }
+
+    @Test
+    void testAmountOverflowKeepsCustomerKnown() {
+        Long customerId = createCustomer("overflow");
+
+        ResponseEntity<String> response = restTemplate.postForEntity(
+            baseUrl() + "/orders",
+            new OrderRequest(customerId, new BigDecimal("123456789.00")),
+            String.class
+        );
+
+        // Rejected by validation before the INSERT, not mistaken for an unknown customer
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).doesNotContain("does not exist");
+        assertThat(knownCustomerIds.contains(customerId)).isTrue();
+    }
+
+    @Test
+    void testKnownCustomerIdsTracksCreatedCustomers() {
+        Long customerId = createCustomer("knownid");
+
+        assertThat(knownCustomerIds.contains(customerId)).isTrue();
+
+        // Ids on different bitmap pages and at word boundaries
+        long base = 1L << 40;
+        long[] ids = {base + 65_535L, base + 65_536L, base + 64L, base};
+        for (long id : ids) {
+            assertThat(knownCustomerIds.contains(id)).isFalse();
+            knownCustomerIds.add(id);
+            assertThat(knownCustomerIds.contains(id)).isTrue();
+        }
+        assertThat(knownCustomerIds.contains(base + 65_537L)).isFalse();
+        assertThat(knownCustomerIds.contains(base + 63L)).isFalse();
+        for (long id : ids) {
+            knownCustomerIds.remove(id);
+            assertThat(knownCustomerIds.contains(id)).isFalse();
+        }
+    }
+}
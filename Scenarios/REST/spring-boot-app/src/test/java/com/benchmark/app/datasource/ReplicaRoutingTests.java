@@ -0,0 +1,46 @@
+package com.benchmark.app.datasource;
+
+import com.benchmark.app.AbstractFeatureIntegrationTests;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingTests extends AbstractFeatureIntegrationTests {
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Test
+    void testReadOnlyTransactionsRouteToReplica() throws InterruptedException {
+        // The first lag check runs asynchronously after startup
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!replicaLagMonitor.isUsable() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(replicaLagMonitor.isUsable()).isTrue();
+
+        // No transaction in the controller: the repository's own read-only one picks the replica
+        ResponseEntity<String> search = restTemplate.getForEntity(
+            baseUrl() + "/customers?limit=5",
+            String.class
+        );
+        assertThat(search.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<JsonNode> reads = restTemplate.getForEntity(
+            baseUrl() + "/actuator/metrics/db.routing.reads?tag=target:replica",
+            JsonNode.class
+        );
+        assertThat(reads.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(reads.getBody().path("measurements").get(0).path("value").asDouble()).isGreaterThan(0.0);
+
+        ResponseEntity<JsonNode> replicaPool = restTemplate.getForEntity(
+            baseUrl() + "/actuator/metrics/hikaricp.connections?tag=pool:replica",
+            JsonNode.class
+        );
+        assertThat(replicaPool.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+}
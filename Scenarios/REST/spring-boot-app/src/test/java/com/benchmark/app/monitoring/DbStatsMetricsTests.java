@@ -0,0 +1,25 @@
+package com.benchmark.app.monitoring;
+
+import com.benchmark.app.AbstractMonitoringIntegrationTests;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DbStatsMetricsTests extends AbstractMonitoringIntegrationTests {
+
+    @Test
+    void testDbStatsMetricsAreBound() {
+        // The pg_stat meters need PostgreSQL; against H2 only the pool gauge is bound
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity(
+            baseUrl() + "/actuator/metrics/db.pool.utilization",
+            JsonNode.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().path("measurements").get(0).path("value").asDouble())
+            .isBetween(0.0, 1.0);
+    }
+}
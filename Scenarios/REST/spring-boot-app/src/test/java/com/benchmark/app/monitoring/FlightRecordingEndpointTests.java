@@ -0,0 +1,69 @@
+package com.benchmark.app.monitoring;
+
+import com.benchmark.app.AbstractMonitoringIntegrationTests;
+import com.fasterxml.jackson.databind.JsonNode;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRecordingEndpointTests extends AbstractMonitoringIntegrationTests {
+
+    @Test
+    void testFlightRecordingReports() {
+        ResponseEntity<JsonNode> summary = restTemplate.getForEntity(
+            baseUrl() + "/actuator/flightrecording?minutes=1&top=5",
+            JsonNode.class
+        );
+        assertThat(summary.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(summary.getBody().path("cpu").has("hotMethods")).isTrue();
+        assertThat(summary.getBody().path("allocation").has("topSites")).isTrue();
+        assertThat(summary.getBody().path("cpu").path("hotMethods").size()).isLessThanOrEqualTo(5);
+
+        ResponseEntity<String> collapsed = restTemplate.getForEntity(
+            baseUrl() + "/actuator/flightrecording/collapsed?minutes=1",
+            String.class
+        );
+        assertThat(collapsed.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<byte[]> recording = restTemplate.getForEntity(
+            baseUrl() + "/actuator/flightrecording/jfr",
+            byte[].class
+        );
+        assertThat(recording.getStatusCode()).isEqualTo(HttpStatus.OK);
+        // Every JFR chunk starts with the "FLR\0" magic
+        assertThat(new String(recording.getBody(), 0, 3, StandardCharsets.US_ASCII)).isEqualTo("FLR");
+    }
+
+    @Test
+    void testRecordingLeavesOutSensitiveEvents() throws Exception {
+        ResponseEntity<byte[]> recording = restTemplate.getForEntity(
+            baseUrl() + "/actuator/flightrecording/jfr",
+            byte[].class
+        );
+        assertThat(recording.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        Path file = Files.createTempFile("endpoint-test-", ".jfr");
+        try {
+            Files.write(file, recording.getBody());
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertThat(events).isNotEmpty();
+            assertThat(events)
+                .extracting(event -> event.getEventType().getName())
+                .doesNotContainAnyElementsOf(Set.of(
+                    "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation",
+                    "jdk.SystemProcess"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.benchmark.app.monitoring;
+
+import com.benchmark.app.AbstractMonitoringIntegrationTests;
+import com.benchmark.app.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlMetricsTests extends AbstractMonitoringIntegrationTests {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void testSqlMetricsAttributeStatementsToRepositoryMethods() {
+        // This context keeps every statement (threshold 0 ms, buffer larger than the test run)
+        customerRepository.existsById(1L << 40);
+
+        ResponseEntity<JsonNode> timer = restTemplate.getForEntity(
+            baseUrl() + "/actuator/metrics/db.query?tag=query:CustomerRepository.existsById&tag=operation:select",
+            JsonNode.class
+        );
+        assertThat(timer.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<JsonNode> slow = restTemplate.getForEntity(
+            baseUrl() + "/actuator/slowqueries",
+            JsonNode.class
+        );
+        assertThat(slow.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode sampled = null;
+        for (JsonNode query : slow.getBody().path("queries")) {
+            if (query.path("query").asText().equals("CustomerRepository.existsById")) {
+                sampled = query;
+            }
+        }
+        assertThat(sampled).isNotNull();
+        assertThat(sampled.path("sql").asText()).containsIgnoringCase("customers");
+        assertThat(sampled.path("parameterTypes").get(0).asText()).isEqualTo("Long");
+    }
+}
@@ -0,0 +1,40 @@
+package com.benchmark.app.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlQueryRecorderTest {
+
+    private static final Object[] NO_PARAMETERS = new Object[1];
+
+    private static void record(SqlQueryRecorder recorder, String query, long elapsedMs) {
+        recorder.record(query, SqlOperation.SELECT, "SELECT 1", NO_PARAMETERS, 0,
+                TimeUnit.MILLISECONDS.toNanos(elapsedMs));
+    }
+
+    @Test
+    void testKeepsSlowestStatementsNotNewest() {
+        SqlQueryRecorder recorder = new SqlQueryRecorder(new SimpleMeterRegistry(), 10, 2);
+
+        record(recorder, "slowest", 500);
+        record(recorder, "slow", 200);
+        // Later but faster: must not evict either of the two above
+        record(recorder, "later", 100);
+        // Below the threshold: timed, never kept
+        record(recorder, "fast", 5);
+
+        assertThat(recorder.slowQueries())
+                .extracting(SqlQueryRecorder.SlowQuery::query)
+                .containsExactly("slowest", "slow");
+
+        // A slower statement replaces the fastest one kept
+        record(recorder, "slower", 300);
+        assertThat(recorder.slowQueries())
+                .extracting(SqlQueryRecorder.SlowQuery::query)
+                .containsExactly("slowest", "slower");
+    }
+}
@@ -0,0 +1,24 @@
+package com.benchmark.app.monitoring;
+
+import com.benchmark.app.AbstractMonitoringIntegrationTests;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadMetricsTests extends AbstractMonitoringIntegrationTests {
+
+    @Test
+    void testVirtualThreadMetricsFollowRuntimeVersion() {
+        // The JFR pinning stream only starts on Java 21+; on 17 the meters are absent
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity(
+            baseUrl() + "/actuator/metrics/jvm.threads.virtual.submit.failed",
+            JsonNode.class
+        );
+
+        HttpStatus expected = Runtime.version().feature() >= 21 ? HttpStatus.OK : HttpStatus.NOT_FOUND;
+        assertThat(response.getStatusCode()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,49 @@
+package com.benchmark.app.pool;
+
+import com.benchmark.app.AbstractFeatureIntegrationTests;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replica routing puts the pool behind a {@code LazyConnectionDataSourceProxy},
+ * so the autotuner has to unwrap through {@code DelegatingDataSource} to reach it.
+ */
+class HikariPoolAutotunerTests extends AbstractFeatureIntegrationTests {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private HikariPoolAutotuner autotuner;
+
+    @Test
+    void testIdlePoolIsShrunkTowardsMinSize() throws InterruptedException {
+        HikariConfigMXBean config = primaryDataSource.getHikariConfigMXBean();
+        int initial = 10; // spring.datasource.hikari.maximum-pool-size of the shared context
+
+        // The first tick only takes a baseline; an idle pool shrinks on every tick after it.
+        // Other tests in this context may have grown it in the meantime.
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (config.getMaximumPoolSize() >= initial && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(config.getMaximumPoolSize()).isLessThan(initial).isGreaterThanOrEqualTo(2);
+        assertThat(config.getMinimumIdle()).isLessThanOrEqualTo(config.getMaximumPoolSize());
+
+        // Stopping hands the pool back as configured
+        autotuner.stop();
+        try {
+            assertThat(config.getMaximumPoolSize()).isEqualTo(initial);
+            assertThat(config.getMinimumIdle()).isEqualTo(4);
+        } finally {
+            autotuner.start();
+        }
+    }
+}
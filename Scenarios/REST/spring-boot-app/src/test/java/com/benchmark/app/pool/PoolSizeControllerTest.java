@@ -0,0 +1,33 @@
+package com.benchmark.app.pool;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PoolSizeControllerTest {
+
+    @Test
+    void testFollowsDemandWithinBounds() {
+        PoolSizeController controller = new PoolSizeController(5, 40, 1.25, 2.0, 5);
+
+        // 2000 checkouts/s held 10 ms each keep 20 connections busy; growth is capped at +50% per step
+        assertThat(controller.next(10, 10_000, 10.0, 0.0, 0, 5.0)).isEqualTo(15);
+        assertThat(controller.next(15, 10_000, 10.0, 0.0, 0, 5.0)).isEqualTo(22);
+        assertThat(controller.next(22, 10_000, 10.0, 0.0, 0, 5.0)).isEqualTo(25);
+        assertThat(controller.demand()).isEqualTo(20.0);
+
+        // Waiting threads push past the demand estimate, but never above max-size
+        assertThat(controller.next(38, 10_000, 10.0, 20.0, 12, 5.0)).isEqualTo(40);
+
+        // Hold time at 4x the baseline means the database is saturated: back off
+        assertThat(controller.next(40, 10_000, 40.0, 20.0, 12, 5.0)).isEqualTo(36);
+        assertThat(controller.gradient()).isLessThan(1.0);
+
+        // Idle pools drain slowly down to min-size
+        assertThat(controller.next(6, 0, 0.0, 0.0, 0, 5.0)).isEqualTo(5);
+        assertThat(controller.next(5, 0, 0.0, 0.0, 0, 5.0)).isEqualTo(5);
+
+        controller.capMaxSize(12);
+        assertThat(controller.next(10, 10_000, 10.0, 0.0, 3, 5.0)).isEqualTo(12);
+    }
+}
@@ -0,0 +1,60 @@
+package com.benchmark.app.search;
+
+import com.benchmark.app.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class CustomerSearchServiceTest {
+
+    private static CustomerSearchService service(CustomerRepository repository, String backend) {
+        return new CustomerSearchService(repository, new SimpleMeterRegistry(), backend, 100);
+    }
+
+    @Test
+    void testContainsPatternEscapesLikeWildcards() {
+        assertThat(CustomerSearchService.containsPattern("jo")).isEqualTo("%jo%");
+        assertThat(CustomerSearchService.containsPattern("100%")).isEqualTo("%100\\%%");
+        assertThat(CustomerSearchService.containsPattern("a_b")).isEqualTo("%a\\_b%");
+        // The escape character is doubled first, so the escapes added for % and _ stay single
+        assertThat(CustomerSearchService.containsPattern("c:\\%")).isEqualTo("%c:\\\\\\%%");
+    }
+
+    @Test
+    void testPrefixQueryKeepsOnlyLettersAndDigits() {
+        assertThat(CustomerSearchService.prefixQuery("Jo Smi")).isEqualTo("jo:* & smi:*");
+        // tsquery operators in the input are separators, never syntax
+        assertThat(CustomerSearchService.prefixQuery("o'brien & !co:*")).isEqualTo("o:* & brien:* & co:*");
+        assertThat(CustomerSearchService.prefixQuery("\u00c6r\u00f8 42")).isEqualTo("\u00e6r\u00f8:* & 42:*");
+        assertThat(CustomerSearchService.prefixQuery(" !! ")).isEmpty();
+    }
+
+    @Test
+    void testBackendSelectsQueryAndPattern() {
+        CustomerRepository like = mock(CustomerRepository.class);
+        service(like, "like").search("  Jo_ ", 500);
+        verify(like).searchCustomers("Jo_", PageRequest.of(0, 100));
+
+        // Trigram matches the escaped term anywhere in the column
+        CustomerRepository trigram = mock(CustomerRepository.class);
+        service(trigram, "trigram").search("Jo_", 10);
+        verify(trigram).searchCustomersTrigram("Jo_", "%Jo\\_%", 10);
+
+        // Full-text matches every word as a prefix
+        CustomerRepository fulltext = mock(CustomerRepository.class);
+        service(fulltext, "fulltext").search("Jo Smi", null);
+        verify(fulltext).searchCustomersFullText("jo:* & smi:*", 100);
+
+        // Nothing searchable left: no query at all
+        CustomerRepository empty = mock(CustomerRepository.class);
+        assertThat(service(empty, "fulltext").search("!!", 10)).isEmpty();
+        verify(empty, never()).searchCustomersFullText(anyString(), anyInt());
+    }
+}
@@ -0,0 +1,57 @@
+package com.benchmark.app.search;
+
+import com.benchmark.app.entity.Customer;
+import com.benchmark.app.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every search backend against PostgreSQL, which {@code trigram} and
+ * {@code fulltext} need (H2 has neither pg_trgm nor tsvector). Skipped unless
+ * {@code TEST_DATABASE_URL} points at an empty database, e.g.
+ * {@code jdbc:postgresql://localhost:5432/benchmark_test} from docker compose.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+@SpringBootTest(properties = {
+    "spring.datasource.url=${TEST_DATABASE_URL}",
+    "spring.datasource.driver-class-name=org.postgresql.Driver",
+    "spring.datasource.username=${TEST_DATABASE_USER:postgres}",
+    "spring.datasource.password=${TEST_DATABASE_PASSWORD:postgres}",
+    "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+class PostgresCustomerSearchTests {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void testEveryBackendFindsCustomerByNameAndEmail() {
+        String name = "Srch" + System.currentTimeMillis();
+        Long id = customerRepository.save(new Customer(name, "Backend", name.toLowerCase() + "@example.com")).getId();
+
+        for (SearchBackend backend : SearchBackend.values()) {
+            CustomerSearchService service =
+                new CustomerSearchService(customerRepository, new SimpleMeterRegistry(), backend.tagValue(), 100);
+
+            assertThat(ids(service.search(name, 10))).as(backend.tagValue()).containsExactly(id);
+            // Start of the first name
+            assertThat(ids(service.search(name.substring(0, 8).toLowerCase(), 10))).as(backend.tagValue()).contains(id);
+        }
+
+        // A literal % must not act as a wildcard
+        CustomerSearchService trigram =
+            new CustomerSearchService(customerRepository, new SimpleMeterRegistry(), "trigram", 100);
+        assertThat(trigram.search(name.substring(0, 6) + "%", 10)).isEmpty();
+    }
+
+    private static List<Long> ids(List<Customer> customers) {
+        return customers.stream().map(Customer::getId).toList();
+    }
+}
@@ -0,0 +1,37 @@
+package com.benchmark.app.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLimitTest {
+
+    @Test
+    void testShedsAndBacksOff() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 10, 100, 0.5);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+
+        // Fast completions at full utilisation grow the limit by 1/limit each: 2 -> 2.5 -> 2.9.
+        // limit() truncates, so the extra slot only shows once the sum passes 3
+        limit.release(TimeUnit.MILLISECONDS.toNanos(5), false);
+        limit.release(TimeUnit.MILLISECONDS.toNanos(5), false);
+        assertThat(limit.limit()).isEqualTo(2);
+        assertThat(limit.inFlight()).isZero();
+        assertThat(limit.tryAcquire()).isTrue();
+        limit.release(TimeUnit.MILLISECONDS.toNanos(5), false);
+        assertThat(limit.limit()).isEqualTo(3);
+
+        // One slow completion halves it; the next within the latency target is ignored
+        assertThat(limit.tryAcquire()).isTrue();
+        limit.release(TimeUnit.MILLISECONDS.toNanos(500), false);
+        assertThat(limit.limit()).isEqualTo(1);
+        assertThat(limit.tryAcquire()).isTrue();
+        limit.release(0, true);
+        assertThat(limit.limit()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,29 @@
+package com.benchmark.app.web;
+
+import com.benchmark.app.AbstractMonitoringIntegrationTests;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTests extends AbstractMonitoringIntegrationTests {
+
+    @Test
+    void testLimitedRequestsPassAndPublishTheLimit() {
+        ResponseEntity<String> read = restTemplate.getForEntity(
+            baseUrl() + "/customers?limit=1",
+            String.class
+        );
+        assertThat(read.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<JsonNode> gauge = restTemplate.getForEntity(
+            baseUrl() + "/actuator/metrics/http.concurrency.limit?tag=budget:read",
+            JsonNode.class
+        );
+        assertThat(gauge.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(gauge.getBody().path("measurements").get(0).path("value").asDouble())
+            .isGreaterThanOrEqualTo(1.0);
+    }
+}